@@ -0,0 +1,18 @@
+package com.posdb.sync.admission;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the sync method only after {@link AdmissionController} granted a permit for the calling restaurant.
+ * The method must take the request's HttpHeaders, the restaurant is identified by its validated X-API-KEY header.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+}
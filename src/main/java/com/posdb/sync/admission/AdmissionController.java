@@ -0,0 +1,160 @@
+package com.posdb.sync.admission;
+
+import com.posdb.sync.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds concurrent sync requests per restaurant ({@code pos.sync.admission.per-restaurant}) and in total
+ * ({@code pos.sync.admission.global}), so a burst of restaurants closing at once cannot take every database
+ * connection from the dashboard. A request waits up to {@code pos.sync.admission.queue-timeout} for both permits
+ * and is then rejected with 429 and Retry-After.
+ * <p>
+ * The global permits are the DB permits of the sync endpoints: an admitted sync holds at most one connection at a
+ * time, as its chunk, dead-letter and idempotency transactions run one after the other. The semaphores are fair, so
+ * waiting syncs are admitted in arrival order and queue on the semaphore instead of timing out on Agroal. The other
+ * connection users are not admitted here, so the permits must leave room for them in the pool:
+ * {@code global <= quarkus.datasource.jdbc.max-size - pos.sync.jobs.workers - pos.dashboard.query-threads
+ * - pos.sync.admission.reserved-connections} (dashboard and admin request threads), checked at startup.
+ */
+@ApplicationScoped
+@Slf4j
+public class AdmissionController {
+
+    @ConfigProperty(name = "pos.sync.admission.global", defaultValue = "12")
+    int globalLimit;
+
+    @ConfigProperty(name = "pos.sync.admission.per-restaurant", defaultValue = "2")
+    int perRestaurantLimit;
+
+    @ConfigProperty(name = "pos.sync.admission.queue-timeout", defaultValue = "2s")
+    Duration queueTimeout;
+
+    @ConfigProperty(name = "pos.sync.admission.retry-after", defaultValue = "5s")
+    Duration retryAfter;
+
+    @ConfigProperty(name = "pos.sync.admission.reserved-connections", defaultValue = "2")
+    int reservedConnections;
+
+    @ConfigProperty(name = "quarkus.datasource.jdbc.max-size", defaultValue = "20")
+    int poolSize;
+
+    @ConfigProperty(name = "pos.sync.jobs.workers", defaultValue = "4")
+    int jobWorkers;
+
+    @ConfigProperty(name = "pos.dashboard.query-threads", defaultValue = "6")
+    int dashboardQueryThreads;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private Semaphore globalPermits;
+
+    // keyed by restaurant id, only validated API keys get here: one entry per restaurant that synced since startup
+    private final Map<UUID, Semaphore> restaurantPermits = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Counter restaurantRejections;
+
+    private Counter globalRejections;
+
+    /**
+     * Both permits of an admitted request, released on close.
+     */
+    public final class Permit implements AutoCloseable {
+        private final Semaphore restaurant;
+
+        private Permit(Semaphore restaurant) {
+            this.restaurant = restaurant;
+        }
+
+        @Override
+        public void close() {
+            globalPermits.release();
+            restaurant.release();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        int available = availableConnections();
+        if (globalLimit > available) {
+            log.warn("AdmissionController:: pos.sync.admission.global={} exceeds the {} pool connections left for syncs, "
+                    + "syncs may exhaust the pool", globalLimit, available);
+        }
+        globalPermits = new Semaphore(globalLimit, true);
+        Gauge.builder("pos.sync.admission.queued", queued, AtomicInteger::get)
+                .description("Sync requests waiting for an admission permit")
+                .register(meterRegistry);
+        Gauge.builder("pos.sync.admission.active", this, controller -> controller.globalLimit - controller.globalPermits.availablePermits())
+                .description("Sync requests holding an admission permit")
+                .register(meterRegistry);
+        restaurantRejections = Counter.builder("pos.sync.admission.rejected").tag("limit", "restaurant")
+                .description("Sync requests rejected with 429").register(meterRegistry);
+        globalRejections = Counter.builder("pos.sync.admission.rejected").tag("limit", "global")
+                .description("Sync requests rejected with 429").register(meterRegistry);
+    }
+
+    /**
+     * Pool connections not needed by sync jobs, dashboard queries and request threads, the upper bound of the global permits.
+     */
+    int availableConnections() {
+        return poolSize - jobWorkers - dashboardQueryThreads - reservedConnections;
+    }
+
+    /**
+     * Waits for a restaurant permit and then a global permit, together at most the queue timeout.
+     *
+     * @throws TooManyRequestsException when either permit is not granted in time
+     */
+    public Permit acquire(UUID restaurantId) {
+        Semaphore restaurant = restaurantPermits.computeIfAbsent(restaurantId, k -> new Semaphore(perRestaurantLimit, true));
+        long deadline = System.nanoTime() + queueTimeout.toNanos();
+        queued.incrementAndGet();
+        try {
+            if (!restaurant.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                restaurantRejections.increment();
+                log.warn("AdmissionController:: Rejected sync, {} syncs of the restaurant already running", perRestaurantLimit);
+                throw reject("Too many concurrent syncs for this restaurant.");
+            }
+            boolean admitted = false;
+            try {
+                admitted = globalPermits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } finally {
+                if (!admitted) {
+                    restaurant.release();
+                }
+            }
+            if (!admitted) {
+                globalRejections.increment();
+                log.warn("AdmissionController:: Rejected sync, server is at its limit of {} concurrent syncs", globalLimit);
+                throw reject("Server is busy with other syncs.");
+            }
+            return new Permit(restaurant);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject("Sync was interrupted while waiting for admission.");
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private TooManyRequestsException reject(String message) {
+        return new TooManyRequestsException(message + " Please retry later.", retryAfter.toSeconds());
+    }
+}
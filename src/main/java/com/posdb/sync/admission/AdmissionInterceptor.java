@@ -0,0 +1,47 @@
+package com.posdb.sync.admission;
+
+import com.posdb.sync.service.ApiKeyValidatorService;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.HttpHeaders;
+
+import java.util.UUID;
+
+import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+
+// Runs before the @Transactional interceptor (PLATFORM_BEFORE + 200), a queued request holds no transaction or connection
+@AdmissionControlled
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class AdmissionInterceptor {
+
+    @Inject
+    AdmissionController admissionController;
+
+    @Inject
+    ApiKeyValidatorService apiKeyValidatorService;
+
+    @AroundInvoke
+    Object admit(InvocationContext context) throws Exception {
+        String apiKey = null;
+        for (Object parameter : context.getParameters()) {
+            if (parameter instanceof HttpHeaders headers) {
+                apiKey = headers.getHeaderString(API_KEY);
+            }
+        }
+        // Permits are keyed by restaurant, so unknown keys never allocate one. Requests without a valid API key are
+        // rejected by the service itself; the validation is served from the API key cache.
+        UUID restaurantId;
+        try {
+            restaurantId = apiKeyValidatorService.validateAndGetRestaurantId(apiKey).getId();
+        } catch (IllegalArgumentException e) {
+            return context.proceed();
+        }
+        try (AdmissionController.Permit ignored = admissionController.acquire(restaurantId)) {
+            return context.proceed();
+        }
+    }
+}
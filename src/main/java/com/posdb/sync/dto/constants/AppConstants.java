@@ -5,4 +5,8 @@ public class AppConstants {
     public static final String JWT_SECRET = "your-256-bit-secret";
     public static final long JWT_EXPIRATION_MS = 3600000; // 1 hour
     public static final String API_KEY = "X-API-KEY";
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
 }
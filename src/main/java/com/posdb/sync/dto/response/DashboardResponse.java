@@ -7,6 +7,7 @@ import java.util.List;
 
 @Getter
 @Setter
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
@@ -16,6 +17,8 @@ public class DashboardResponse {
 
     private RestaurantInfo restaurantInfo;
     private List<RestaurantInfo> associatedRestaurants;
+    // restaurant=ALL: figures of each subscribed restaurant, the top level holds their combined totals
+    private List<DashboardResponse> restaurantDashboards;
 
     private String startDateTime;
     private String endDateTime;
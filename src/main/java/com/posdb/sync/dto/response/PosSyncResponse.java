@@ -0,0 +1,18 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class PosSyncResponse {
+    // null for entity lists that were not part of the request
+    private SyncResponse orderHeaders;
+    private SyncResponse orderTransactions;
+    private SyncResponse orderPayments;
+    private SyncResponse customerFiles;
+    private SyncResponse onAccountCharges;
+    private SyncResponse orderVoidLogs;
+}
@@ -0,0 +1,21 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RequestCaptureResponse {
+    private Instant capturedAt;
+    private String apiKeyFingerprint;// first 12 hex chars of SHA-256(api key), never the key itself
+    private String method;
+    private String path;
+    private String contentType;
+    private int capturedBytes;
+    private boolean truncated;
+    private String body;// UTF-8 for JSON bodies, Base64 for Smile / CBOR
+}
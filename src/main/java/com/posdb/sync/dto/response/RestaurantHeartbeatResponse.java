@@ -0,0 +1,18 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class RestaurantHeartbeatResponse {
+    private String restaurantId;
+    private String restaurantName;
+    private String status;
+    private OffsetDateTime lastSyncTime;
+    private boolean pendingFlush;// heartbeat held in memory, not written to restaurant.last_sync_time yet
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.OffsetDateTime;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -13,4 +15,5 @@ public class RestaurantInfo {
     private String restaurantId;
     private String restaurantName;
     private String restaurantAddress;
+    private OffsetDateTime lastSyncTime;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StreamSyncResponse {
+    private Long committedRecords;// committed by this request, dead-lettered records included
+    private Integer committedChunks;
+    private Long cursor;// records of the stream committed so far, send back as ?cursor= to resume
+    private Boolean completed;
+    private String failureDetails;
+    private Integer failedRecords;// stored in sync_dead_letter, the stream went on past them
+    private List<SyncError> errors;// at most pos.sync.errors.max entries, index is the position in the stream
+    private Boolean errorsTruncated;
+}
@@ -0,0 +1,16 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class SyncError {
+    private Integer index;// 1-based position of the record in the request
+    private String key;// business key of the record, e.g. orderId, orderPaymentId, menuItemId
+    private String code;// INVALID_RECORD, WRITE_FAILED
+    private String message;
+    private Long deadLetterId;// set when the record was stored in sync_dead_letter
+}
@@ -0,0 +1,22 @@
+package com.posdb.sync.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class SyncJobResponse {
+    private Long jobId;
+    private String entityType;
+    private String status;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime finishedAt;
+    private JsonNode result;// SyncResponse, or PosSyncResponse for POS_SYNC jobs, once SUCCEEDED
+    private String errorMessage;
+}
@@ -2,6 +2,8 @@ package com.posdb.sync.dto.response;
 
 import lombok.*;
 
+import java.util.List;
+
 @Getter
 @Setter
 @AllArgsConstructor
@@ -11,7 +13,11 @@ public class SyncResponse {
     private Integer totalRecords;
     private Integer successRecords;
     private Integer failedRecords;
-    private String failureDetails;
+    private Integer skippedRecords;// unchanged records that were not written
+    private List<SyncError> errors;// at most pos.sync.errors.max entries
+    private Boolean errorsTruncated;// more records failed than listed in errors
 
+    public SyncResponse(Integer totalRecords, Integer successRecords, Integer skippedRecords) {
+        this(totalRecords, successRecords, 0, skippedRecords, List.of(), false);
+    }
 }
-
@@ -0,0 +1,19 @@
+package com.posdb.sync.dto.response;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class SyncWatermarkResponse {
+    private String entityType;
+    private String keyField;// e.g. orderId, autoId, orderChargeId
+    private Long maxKey;
+    private String timestampField;// e.g. editTimestamp, null when the entity has none
+    private OffsetDateTime maxTimestamp;
+    private OffsetDateTime updatedAt;
+}
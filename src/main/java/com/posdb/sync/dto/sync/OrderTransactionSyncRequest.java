@@ -11,5 +11,8 @@ import java.util.List;
 @NoArgsConstructor
 public class OrderTransactionSyncRequest {
     private List<OrderTransactionData> orderTransactions;
+
+    // ingest with COPY + merge (backfills), also used for batches of at least pos.sync.order-transactions.copy-threshold
+    private Boolean copyIngest;
 }
 
@@ -0,0 +1,19 @@
+package com.posdb.sync.dto.sync;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class PosSyncRequest {
+    private List<OrderHeaderData> orderHeaders;
+    private List<OrderTransactionData> orderTransactions;
+    private List<OrderPaymentData> orderPayments;
+    private List<CustomerFileData> customerFiles;
+    private List<OnAccountChargeData> onAccountCharges;
+    private List<OrderVoidLogData> orderVoidLogs;
+}
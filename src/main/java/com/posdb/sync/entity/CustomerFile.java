@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class CustomerFile extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_files_seq")
+    @SequenceGenerator(name = "customer_files_seq", sequenceName = "customer_files_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class MenuItem extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_items_seq")
+    @SequenceGenerator(name = "menu_items_seq", sequenceName = "menu_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -62,6 +63,10 @@ public class MenuItem extends PanacheEntityBase {
     @Column(name = "menu_item_type")
     private String menuItemType;
 
+    // SHA-256 of the synced fields, written by MenuItemSyncService
+    @Column(name = "content_hash")
+    private String contentHash;
+
     @CreationTimestamp
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class OnAccountCharge extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "on_account_charges_seq")
+    @SequenceGenerator(name = "on_account_charges_seq", sequenceName = "on_account_charges_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
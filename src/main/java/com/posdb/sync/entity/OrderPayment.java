@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class OrderPayment extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_payments_seq")
+    @SequenceGenerator(name = "order_payments_seq", sequenceName = "order_payments_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class OrderTransaction extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_transactions_seq")
+    @SequenceGenerator(name = "order_transactions_seq", sequenceName = "order_transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
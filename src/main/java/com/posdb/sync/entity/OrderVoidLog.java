@@ -19,7 +19,8 @@ import java.time.OffsetDateTime;
 public class OrderVoidLog extends PanacheEntityBase {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_void_logs_seq")
+    @SequenceGenerator(name = "order_void_logs_seq", sequenceName = "order_void_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,44 @@
+package com.posdb.sync.entity;
+
+import com.posdb.sync.entity.enums.SyncEntityType;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "sync_dead_letter")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncDeadLetter extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(name = "record_index")
+    private Integer recordIndex; // 1 based position in the sync batch
+
+    @Column(name = "payload", nullable = false)
+    private String payload; // the record as JSON
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+}
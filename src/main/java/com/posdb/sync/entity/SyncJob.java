@@ -0,0 +1,69 @@
+package com.posdb.sync.entity;
+
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.entity.enums.SyncJobStatus;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "sync_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SyncJob extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", nullable = false)
+    private Restaurant restaurant;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private SyncEntityType entityType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SyncJobStatus status;
+
+    @Column(name = "payload")
+    private String payload; // request body as JSON, cleared once the job succeeded
+
+    @Column(name = "result")
+    private String result; // SyncResponse / PosSyncResponse as JSON
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey; // retried submits within pos.sync.idempotency.ttl return this job
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    @Column(name = "claimed_by")
+    private String claimedBy; // worker instance running the job
+
+    @Column(name = "lease_expires_at")
+    private OffsetDateTime leaseExpiresAt; // renewed by the running instance, requeued by any instance once expired
+
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private OffsetDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+}
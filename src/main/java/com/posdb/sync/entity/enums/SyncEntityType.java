@@ -0,0 +1,11 @@
+package com.posdb.sync.entity.enums;
+
+public enum SyncEntityType {
+    ORDER_HEADERS,
+    ORDER_PAYMENTS,
+    ORDER_TRANSACTIONS,
+    ORDER_VOID_LOGS,
+    ON_ACCOUNT_CHARGES,
+    CUSTOMER_FILES,
+    POS_SYNC
+}
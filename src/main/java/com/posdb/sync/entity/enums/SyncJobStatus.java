@@ -0,0 +1,8 @@
+package com.posdb.sync.entity.enums;
+
+public enum SyncJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
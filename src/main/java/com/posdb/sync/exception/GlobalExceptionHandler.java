@@ -1,6 +1,7 @@
 package com.posdb.sync.exception;
 
 import com.posdb.sync.dto.response.ApiResponse;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
@@ -15,6 +16,24 @@ public class GlobalExceptionHandler {
         return Response.status(ex.getStatus()).entity(response).build();
     }
 
+    @ServerExceptionMapper
+    public Response handleSyncFailedException(SyncFailedException ex) {
+        // per-record errors are already logged by the sync services, only the summary here
+        log.error("GlobalExceptionHandler:: Sync failed: {}", ex.getMessage());
+        return Response.status(ex.getStatus())
+                .entity(new ApiResponse<>(ex.getStatus().getStatusCode(), ex.getResponse(), ex.getMessage()))
+                .build();
+    }
+
+    @ServerExceptionMapper
+    public Response handleTooManyRequestsException(TooManyRequestsException ex) {
+        ApiResponse<String> response = new ApiResponse<>(ex.getStatus().getStatusCode(), ex.getMessage());
+        log.warn("GlobalExceptionHandler:: Request rejected by admission control: {}", ex.getMessage());
+        return Response.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, ex.getRetryAfterSeconds())
+                .entity(response).build();
+    }
+
     @ServerExceptionMapper
     public Response handleException(Exception ex) {
         ApiResponse<String> response = new ApiResponse<>(500, "Internal Error occurred");
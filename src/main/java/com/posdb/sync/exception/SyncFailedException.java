@@ -0,0 +1,20 @@
+package com.posdb.sync.exception;
+
+import com.posdb.sync.dto.response.SyncResponse;
+import jakarta.ws.rs.core.Response;
+import lombok.Getter;
+
+/**
+ * A sync batch with failed records, rolls back the batch's transaction. Carries the structured per-record errors,
+ * which are returned as the response data.
+ */
+@Getter
+public class SyncFailedException extends AppException {
+
+    private final SyncResponse response;
+
+    public SyncFailedException(String message, SyncResponse response) {
+        super(message, Response.Status.INTERNAL_SERVER_ERROR);
+        this.response = response;
+    }
+}
@@ -0,0 +1,18 @@
+package com.posdb.sync.exception;
+
+import jakarta.ws.rs.core.Response;
+import lombok.Getter;
+
+/**
+ * Request rejected by admission control, answered with 429 and a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends AppException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, Response.Status.TOO_MANY_REQUESTS);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
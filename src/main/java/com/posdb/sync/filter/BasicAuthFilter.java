@@ -1,10 +1,13 @@
 package com.posdb.sync.filter;
 
 import com.posdb.sync.dto.response.ApiResponse;
+import com.posdb.sync.service.RequestCaptureService;
 import jakarta.annotation.Priority;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.Provider;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -12,10 +15,7 @@ import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
@@ -32,6 +32,9 @@ public class BasicAuthFilter implements ContainerRequestFilter {
     @ConfigProperty(name = "admin.password.hash")
     String adminPasswordHash;
 
+    @Inject
+    RequestCaptureService requestCaptureService;
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
         String path = requestContext.getUriInfo().getPath();
@@ -88,20 +91,17 @@ public class BasicAuthFilter implements ContainerRequestFilter {
             }
 
             LOGGER.info("POS endpoint accessed: {}", path);
-            // Log the request body as JSON
-            try {
-                InputStream is = requestContext.getEntityStream();
-                String requestBody = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-                // Minify JSON by removing extra whitespace
-                String minifiedBody = requestBody.replaceAll("\\s+", "");
-
-                LOGGER.info("POS endpoint request body: {}", minifiedBody);
-                // Reset stream for downstream processing
-                requestContext.setEntityStream(new ByteArrayInputStream(requestBody.getBytes(StandardCharsets.UTF_8)));
-            } catch (IOException e) {
-                LOGGER.warn("Error reading request body", e);
+            // Bodies are no longer logged, troubleshooting goes through the opt-in capture (/api/v1/admin/captures)
+            if (!requestCaptureService.isActive()) {
+                return;
+            }
+            String fingerprint = requestCaptureService.sample(apiKey);
+            if (fingerprint != null) {
+                String method = requestContext.getMethod();
+                MediaType mediaType = requestContext.getMediaType();
+                requestContext.setEntityStream(new CapturingInputStream(requestContext.getEntityStream(), requestCaptureService.getMaxBytes(),
+                        (body, truncated) -> requestCaptureService.record(fingerprint, method, path, mediaType, body, truncated)));
             }
-
         }
     }
 }
@@ -0,0 +1,75 @@
+package com.posdb.sync.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+
+/**
+ * Passes the request body through unchanged while copying at most {@code maxBytes} of it aside.
+ * The copy is handed to {@code onComplete} (bytes, truncated) once, when the body is fully read or closed.
+ */
+final class CapturingInputStream extends FilterInputStream {
+
+    private final int maxBytes;
+    private final ByteArrayOutputStream copy;
+    private final BiConsumer<byte[], Boolean> onComplete;
+    private boolean truncated;
+    private boolean completed;
+
+    CapturingInputStream(InputStream in, int maxBytes, BiConsumer<byte[], Boolean> onComplete) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.copy = new ByteArrayOutputStream(Math.min(maxBytes, 8192));
+        this.onComplete = onComplete;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b == -1) {
+            complete();
+        } else {
+            append(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read == -1) {
+            complete();
+        } else {
+            append(buffer, offset, read);
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            complete();
+        }
+    }
+
+    private void append(byte[] buffer, int offset, int length) {
+        int room = maxBytes - copy.size();
+        if (length > room) {
+            truncated = true;
+        }
+        if (room > 0) {
+            copy.write(buffer, offset, Math.min(room, length));
+        }
+    }
+
+    private void complete() {
+        if (!completed) {
+            completed = true;
+            onComplete.accept(copy.toByteArray(), truncated);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.posdb.sync.filter;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.vertx.http.runtime.RouteConstants;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.vertx.VertxInputStream;
+
+/**
+ * Lifts quarkus.http.limits.max-body-size to {@code pos.sync.stream.max-body-size} for the NDJSON order header
+ * stream only, which is read record by record and never buffered. Every other route keeps the global limit.
+ * <p>
+ * Quarkus checks the Content-Length header in a handler at {@link RouteConstants#ROUTE_ORDER_UPLOAD_LIMIT} and
+ * hands the limit for chunked bodies to the request input stream. The stream route checks Content-Length against
+ * its own limit before that handler and replaces the handed over limit after it.
+ */
+@ApplicationScoped
+@Slf4j
+public class StreamBodyLimitFilter {
+
+    static final String STREAM_PATH = "/api/v1/pos/orderheaders/stream";
+
+    @ConfigProperty(name = "pos.sync.stream.max-body-size", defaultValue = "1G")
+    MemorySize streamMaxBodySize;
+
+    void register(@Observes Router router) {
+        long limit = streamMaxBodySize.asLongValue();
+        router.route(STREAM_PATH).order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT - 1)
+                .handler(context -> checkContentLength(context, limit));
+        router.route(STREAM_PATH).order(RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT + 1)
+                .handler(context -> {
+                    context.put(VertxInputStream.MAX_REQUEST_SIZE_KEY, limit);
+                    context.next();
+                });
+        log.info("StreamBodyLimitFilter:: Order header stream accepts bodies up to {} bytes", limit);
+    }
+
+    private void checkContentLength(RoutingContext context, long limit) {
+        String contentLength = context.request().headers().get(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null) {
+            if (Long.parseLong(contentLength) > limit) {
+                context.response().putHeader(HttpHeaderNames.CONNECTION, "close");
+                context.response().setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()).end();
+                return;
+            }
+            // the body is already framed by the HTTP codec, the header is only read by the global limit check
+            context.request().headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+        }
+        context.next();
+    }
+}
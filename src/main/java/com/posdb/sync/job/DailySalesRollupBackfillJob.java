@@ -0,0 +1,31 @@
+package com.posdb.sync.job;
+
+import com.posdb.sync.service.DailySalesRollupService;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Fills daily_sales_rollup for the order history of restaurants that synced before it existed, shortly after startup
+ * and then for restaurants added since. Restaurants already rebuilt are skipped, so later runs are a single query.
+ */
+@ApplicationScoped
+public class DailySalesRollupBackfillJob {
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
+    @Scheduled(every = "${pos.rollup.backfill-interval:1h}", delayed = "${pos.rollup.backfill-delay:1m}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void backfillRollups() {
+        try {
+            int rebuilt = dailySalesRollupService.backfill();
+            if (rebuilt > 0) {
+                Log.info("Daily sales rollup backfill job rebuilt the rollup of " + rebuilt + " restaurants");
+            }
+        } catch (Exception e) {
+            Log.error("Error in daily sales rollup backfill job: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.posdb.sync.job;
+
+import com.posdb.sync.repository.SyncIdempotencyKeyRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.time.OffsetDateTime;
+
+@ApplicationScoped
+public class IdempotencyKeyPurgeJob {
+
+    @Inject
+    SyncIdempotencyKeyRepository syncIdempotencyKeyRepository;
+
+    @Scheduled(every = "${pos.sync.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        try {
+            long deleted = syncIdempotencyKeyRepository.deleteExpired(OffsetDateTime.now());
+            Log.info("Idempotency key purge job removed " + deleted + " expired keys");
+        } catch (Exception e) {
+            Log.error("Error in idempotency key purge job: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.posdb.sync.job;
+
+import com.posdb.sync.service.SyncHeartbeatService;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class SyncHeartbeatFlushJob {
+
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Scheduled(every = "${pos.sync.heartbeat.flush-interval:5s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flushHeartbeats() {
+        try {
+            int flushed = syncHeartbeatService.flush();
+            if (flushed > 0) {
+                Log.debug("Sync heartbeat flush job wrote last sync time of " + flushed + " restaurants");
+            }
+        } catch (Exception e) {
+            Log.error("Error in sync heartbeat flush job: " + e.getMessage(), e);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        flushHeartbeats();
+    }
+}
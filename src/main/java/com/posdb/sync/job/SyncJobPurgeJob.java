@@ -0,0 +1,33 @@
+package com.posdb.sync.job;
+
+import com.posdb.sync.repository.SyncJobRepository;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@ApplicationScoped
+public class SyncJobPurgeJob {
+
+    @ConfigProperty(name = "pos.sync.jobs.retention", defaultValue = "7d")
+    Duration retention;
+
+    @Inject
+    SyncJobRepository syncJobRepository;
+
+    @Scheduled(every = "${pos.sync.jobs.purge-interval:1h}")
+    @Transactional
+    public void purgeFinishedJobs() {
+        try {
+            long deleted = syncJobRepository.deleteFinished(OffsetDateTime.now().minus(retention));
+            Log.info("Sync job purge job removed " + deleted + " finished jobs");
+        } catch (Exception e) {
+            Log.error("Error in sync job purge job: " + e.getMessage(), e);
+        }
+    }
+}
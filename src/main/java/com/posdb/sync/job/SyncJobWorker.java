@@ -0,0 +1,94 @@
+package com.posdb.sync.job;
+
+import com.posdb.sync.repository.SyncJobRepository;
+import com.posdb.sync.service.SyncJobService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the sync_jobs queue with a fixed pool of {@code pos.sync.jobs.workers} threads.
+ * At most one job per restaurant runs at a time and a restaurant's jobs run in the order they were queued.
+ * Claimed jobs carry this instance's id and a lease of {@code pos.sync.jobs.lease}, renewed while they run; jobs of a
+ * stopped instance are requeued once their lease expires, so instances can share the queue.
+ */
+@ApplicationScoped
+@Slf4j
+public class SyncJobWorker {
+
+    @ConfigProperty(name = "pos.sync.jobs.workers", defaultValue = "4")
+    int workerCount;
+
+    @ConfigProperty(name = "pos.sync.jobs.lease", defaultValue = "2m")
+    Duration lease;
+
+    @Inject
+    SyncJobRepository syncJobRepository;
+
+    @Inject
+    SyncJobService syncJobService;
+
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    private final String owner = System.getenv().getOrDefault("HOSTNAME", "pos-sync") + "-" + UUID.randomUUID();
+
+    private ExecutorService executor;
+
+    void onStart(@Observes StartupEvent event) {
+        executor = Executors.newFixedThreadPool(workerCount);
+        log.info("SyncJobWorker:: Started {} with {} workers, job lease {}", owner, workerCount, lease);
+    }
+
+    void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("SyncJobWorker:: Sync jobs still running at shutdown, they are requeued once their lease expires");
+        }
+    }
+
+    @Scheduled(every = "${pos.sync.jobs.poll-interval:2s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void dispatch() {
+        int freeWorkers = workerCount - runningJobs.get();
+        if (freeWorkers <= 0 || executor == null) {
+            return;
+        }
+        List<Long> jobIds = QuarkusTransaction.requiringNew().call(() -> {
+            int requeued = syncJobRepository.requeueExpiredJobs();
+            if (requeued > 0) {
+                log.warn("SyncJobWorker:: Requeued {} sync jobs whose lease expired", requeued);
+            }
+            return syncJobRepository.claimNextJobs(freeWorkers, owner, lease);
+        });
+        for (Long jobId : jobIds) {
+            runningJobs.incrementAndGet();
+            executor.submit(() -> {
+                try {
+                    syncJobService.runJob(jobId, owner);
+                } finally {
+                    runningJobs.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    @Scheduled(every = "${pos.sync.jobs.lease-renew-interval:30s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void renewLeases() {
+        if (runningJobs.get() > 0) {
+            QuarkusTransaction.requiringNew().run(() -> syncJobRepository.renewLeases(owner, lease));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.posdb.sync.metrics;
+
+import com.posdb.sync.dto.response.SyncResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Meters of the sync pipeline, tagged by entity and restaurant and scraped from /q/metrics:
+ * <ul>
+ *     <li>{@code pos.sync.batch} - time to write one sync batch, tagged with its outcome</li>
+ *     <li>{@code pos.sync.batch.db} - time spent in the write transactions of a batch</li>
+ *     <li>{@code pos.sync.batch.size} - records per batch</li>
+ *     <li>{@code pos.sync.records} - records by result (written, skipped, failed), its rate is records/sec</li>
+ *     <li>{@code pos.sync.api-key.validation} - API key validation latency</li>
+ * </ul>
+ * Only the first {@code pos.sync.metrics.max-restaurants} restaurants seen since startup get their own restaurant tag,
+ * all others are reported as {@value #OTHER_RESTAURANTS}, which bounds the number of time series.
+ */
+@ApplicationScoped
+@Slf4j
+public class SyncMetrics {
+
+    public static final String OTHER_RESTAURANTS = "other";
+
+    @ConfigProperty(name = "pos.sync.metrics.max-restaurants", defaultValue = "100")
+    int maxRestaurants;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private final Set<String> taggedRestaurants = ConcurrentHashMap.newKeySet();
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a finished batch: its duration, size and the records by result. Pass the response of a failed
+     * batch when it carries one (SyncFailedException), otherwise null.
+     */
+    public void recordBatch(Timer.Sample sample, String entity, UUID restaurantId, int size, SyncResponse response) {
+        String restaurant = restaurantTag(restaurantId);
+        String outcome = "success";
+        if (response == null || response.getFailedRecords() > 0 && response.getSuccessRecords() + response.getSkippedRecords() == 0) {
+            outcome = "failure";
+        } else if (response.getFailedRecords() > 0) {
+            outcome = "partial";
+        }
+        sample.stop(Timer.builder("pos.sync.batch")
+                .description("Time to write a sync batch")
+                .tags("entity", entity, "restaurant", restaurant, "outcome", outcome)
+                .register(meterRegistry));
+        DistributionSummary.builder("pos.sync.batch.size")
+                .description("Records per sync batch")
+                .baseUnit("records")
+                .serviceLevelObjectives(10, 50, 100, 250, 500, 1000, 5000)
+                .tags("entity", entity, "restaurant", restaurant)
+                .register(meterRegistry)
+                .record(size);
+        if (response == null) {
+            countRecords(entity, restaurant, "failed", size);
+            return;
+        }
+        countRecords(entity, restaurant, "written", response.getSuccessRecords());
+        countRecords(entity, restaurant, "skipped", response.getSkippedRecords());
+        countRecords(entity, restaurant, "failed", response.getFailedRecords());
+    }
+
+    /**
+     * Records the time of one write transaction of a batch.
+     */
+    public void recordDb(Timer.Sample sample, String entity, UUID restaurantId) {
+        sample.stop(Timer.builder("pos.sync.batch.db")
+                .description("Time spent in the write transactions of sync batches")
+                .tags("entity", entity, "restaurant", restaurantTag(restaurantId))
+                .register(meterRegistry));
+    }
+
+    public void recordApiKeyValidation(Timer.Sample sample, boolean valid) {
+        sample.stop(Timer.builder("pos.sync.api-key.validation")
+                .description("API key validation latency")
+                .tag("outcome", valid ? "valid" : "invalid")
+                .register(meterRegistry));
+    }
+
+    private void countRecords(String entity, String restaurant, String result, Integer count) {
+        if (count == null || count == 0) {
+            return;
+        }
+        Counter.builder("pos.sync.records")
+                .description("Synced records by result")
+                .tags("entity", entity, "restaurant", restaurant, "result", result)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private String restaurantTag(UUID restaurantId) {
+        if (restaurantId == null) {
+            return OTHER_RESTAURANTS;
+        }
+        String id = restaurantId.toString();
+        if (taggedRestaurants.contains(id)) {
+            return id;
+        }
+        if (taggedRestaurants.size() < maxRestaurants && taggedRestaurants.add(id)) {
+            if (taggedRestaurants.size() == maxRestaurants) {
+                log.warn("SyncMetrics:: Restaurant tag limit of {} reached, further restaurants are reported as '{}'",
+                        maxRestaurants, OTHER_RESTAURANTS);
+            }
+            return id;
+        }
+        return OTHER_RESTAURANTS;
+    }
+}
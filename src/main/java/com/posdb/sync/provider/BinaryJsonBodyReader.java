@@ -0,0 +1,59 @@
+package com.posdb.sync.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.posdb.sync.dto.sync.PosSyncRequest;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_CBOR;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_SMILE;
+
+/**
+ * Binds Smile and CBOR request bodies to the sync DTOs. The mappers are copies of the application ObjectMapper,
+ * so dates and the other settings bind exactly as for JSON bodies.
+ */
+@Provider
+@ApplicationScoped
+@Consumes({APPLICATION_SMILE, APPLICATION_CBOR})
+public class BinaryJsonBodyReader implements MessageBodyReader<Object> {
+
+    private static final String SYNC_DTO_PACKAGE = PosSyncRequest.class.getPackageName();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper smileMapper;
+
+    private ObjectMapper cborMapper;
+
+    @PostConstruct
+    void init() {
+        smileMapper = objectMapper.copyWith(new SmileFactory());
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return SYNC_DTO_PACKAGE.equals(type.getPackageName());
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        ObjectMapper mapper = mediaType.isCompatible(MediaType.valueOf(APPLICATION_CBOR)) ? cborMapper : smileMapper;
+        return mapper.readValue(entityStream, type);
+    }
+}
@@ -0,0 +1,319 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.OrderHeader;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.repository.dto.DailySalesRollupDto;
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import com.posdb.sync.utils.BusinessWindowUtil;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.UUID;
+
+@ApplicationScoped
+public class DailySalesRollupRepository implements PanacheRepository<OrderHeader> {
+
+    // Same platforms as DashboardRepository.getInhouseOrderMetrics
+    private static final String INHOUSE_CUSTOMERS = "('careem', 'noon', 'talabat', 'deliveroo', 'smiles', 'keeta')";
+
+    /**
+     * Order time and business date (see {@link #businessDateExpression}) of the restaurant's orders with the given ids.
+     * Orders outside the business hours have no business date.
+     */
+    public List<OrderBusinessDateDto> findOrderDates(Restaurant restaurant, Collection<Integer> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return findOrderDates(restaurant, "oh.order_id IN (:orderIds)", "orderIds", orderIds);
+    }
+
+    /**
+     * Same as {@link #findOrderDates(Restaurant, Collection)}, for the orders charged on account to the given customers.
+     */
+    public List<OrderBusinessDateDto> findCustomerOrderDates(Restaurant restaurant, Collection<Integer> customerIds) {
+        if (customerIds.isEmpty()) {
+            return List.of();
+        }
+        return findOrderDates(restaurant, "oh.order_id IN (SELECT oac.order_id FROM on_account_charges oac"
+                + " WHERE oac.restaurant_id = :restaurantId AND oac.customer_id IN (:customerIds))", "customerIds", customerIds);
+    }
+
+    private List<OrderBusinessDateDto> findOrderDates(Restaurant restaurant, String orderFilter, String idsParameter, Collection<Integer> ids) {
+        String sql = "SELECT DISTINCT oh.order_date_time, " + businessDateExpression(restaurant)
+                + " FROM order_headers oh WHERE oh.restaurant_id = :restaurantId AND " + orderFilter
+                + " AND oh.order_date_time IS NOT NULL";
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager()
+                .createNativeQuery(sql)
+                .setParameter("restaurantId", restaurant.getId())
+                .setParameter(idsParameter, ids)
+                .setParameter("timeZone", BusinessWindowUtil.getZoneId(restaurant.getTimeZone()).getId())
+                .setParameter("openingTime", restaurant.getOpeningTime())
+                .setParameter("closingTime", restaurant.getClosingTime())
+                .getResultList();
+
+        return rows.stream()
+                .map(r -> new OrderBusinessDateDto(toOffsetDateTime(r[0]), r[1] == null ? null : toLocalDate(r[1])))
+                .toList();
+    }
+
+    /**
+     * Restaurants with business hours whose whole rollup was never rebuilt.
+     */
+    @SuppressWarnings("unchecked")
+    public List<UUID> findRestaurantsToBackfill() {
+        return getEntityManager().createNativeQuery("""
+                        SELECT r.id FROM restaurant r
+                        WHERE r.rollup_rebuilt_at IS NULL AND r.opening_time IS NOT NULL AND r.closing_time IS NOT NULL
+                        ORDER BY r.id
+                        """, UUID.class)
+                .getResultList();
+    }
+
+    public void markRebuilt(UUID restaurantId) {
+        getEntityManager().createNativeQuery("UPDATE restaurant SET rollup_rebuilt_at = now() WHERE id = :restaurantId")
+                .setParameter("restaurantId", restaurantId)
+                .executeUpdate();
+    }
+
+    /**
+     * Date range of the restaurant's orders (local dates in its time zone), null when it has no orders.
+     */
+    public LocalDate[] findOrderDateRange(Restaurant restaurant) {
+        Object[] row = (Object[]) getEntityManager()
+                .createNativeQuery("""
+                        SELECT CAST(MIN(order_date_time AT TIME ZONE :timeZone) AS DATE),
+                               CAST(MAX(order_date_time AT TIME ZONE :timeZone) AS DATE)
+                        FROM order_headers WHERE restaurant_id = :restaurantId
+                        """)
+                .setParameter("restaurantId", restaurant.getId())
+                .setParameter("timeZone", BusinessWindowUtil.getZoneId(restaurant.getTimeZone()).getId())
+                .getSingleResult();
+        if (row[0] == null) {
+            return null;
+        }
+        // the day before: an order after midnight can belong to the previous business date
+        return new LocalDate[]{toLocalDate(row[0]).minusDays(1), toLocalDate(row[1])};
+    }
+
+    /**
+     * Recomputes the rollup rows of the given business dates from order_headers, order_payments, on_account_charges,
+     * order_void_logs and customer_files with the same figures as the raw dashboard queries. Rows of dates that
+     * no longer have orders are removed.
+     *
+     * @return number of rollup rows written
+     */
+    public int recompute(Restaurant restaurant, Collection<LocalDate> businessDates) {
+        if (businessDates.isEmpty()) {
+            return 0;
+        }
+        // pending entity changes of the current transaction must be visible to the native statements
+        getEntityManager().flush();
+
+        getEntityManager()
+                .createNativeQuery("DELETE FROM daily_sales_rollup WHERE restaurant_id = :restaurantId AND business_date IN (:businessDates)")
+                .setParameter("restaurantId", restaurant.getId())
+                .setParameter("businessDates", businessDates)
+                .executeUpdate();
+
+        LocalDate firstDate = businessDates.stream().min(LocalDate::compareTo).orElseThrow();
+        LocalDate lastDate = businessDates.stream().max(LocalDate::compareTo).orElseThrow();
+        OffsetDateTime start = BusinessWindowUtil.getBusinessWindow(restaurant.getOpeningTime(), restaurant.getClosingTime(),
+                firstDate, restaurant.getTimeZone()).start();
+        OffsetDateTime end = BusinessWindowUtil.getBusinessWindow(restaurant.getOpeningTime(), restaurant.getClosingTime(),
+                lastDate, restaurant.getTimeZone()).end();
+
+        String sql = """
+        INSERT INTO daily_sales_rollup (restaurant_id, business_date, order_type, order_count, guest_count, amount_due,
+            sub_total, discount_amount, void_order_count, void_amount, inhouse_order_count, inhouse_amount, updated_at)
+        WITH day_orders AS (
+            SELECT * FROM (
+                SELECT oh.order_id, oh.order_type, oh.guest_number, oh.sub_total, oh.discount_amount_used, oh.amount_due,
+                    """ + businessDateExpression(restaurant) + """
+         AS business_date
+                FROM order_headers oh
+                WHERE oh.restaurant_id = :restaurantId
+                    AND oh.order_date_time >= :startDate
+                    AND oh.order_date_time <= :endDate
+            ) o
+            WHERE o.business_date IN (:businessDates)
+        ),
+        op AS (
+            SELECT order_id, SUM(amount_paid) AS amount_paid, SUM(employee_comp) AS employee_comp
+            FROM order_payments
+            WHERE restaurant_id = :restaurantId AND order_id IN (SELECT order_id FROM day_orders)
+            GROUP BY order_id
+        ),
+        oac AS (
+            SELECT order_id, SUM(amount_charged) AS amount_charged, SUM(employee_comp) AS employee_comp
+            FROM on_account_charges
+            WHERE restaurant_id = :restaurantId AND order_id IN (SELECT order_id FROM day_orders)
+            GROUP BY order_id
+        ),
+        voids AS (
+            -- first void log of every voided transaction, orders whose void amount is positive
+            SELECT order_id, SUM(void_amount) AS void_amount
+            FROM (
+                SELECT DISTINCT ON (order_transaction_id) order_id, void_amount
+                FROM order_void_logs
+                WHERE restaurant_id = :restaurantId
+                    AND order_transaction_id IN (
+                        SELECT order_transaction_id FROM order_void_logs
+                        WHERE restaurant_id = :restaurantId AND order_id IN (SELECT order_id FROM day_orders))
+                ORDER BY order_transaction_id, id
+            ) first_logs
+            WHERE order_id IN (SELECT order_id FROM day_orders)
+            GROUP BY order_id
+            HAVING SUM(void_amount) > 0
+        ),
+        inhouse AS (
+            SELECT oac.order_id, COUNT(*) AS matches
+            FROM on_account_charges oac
+            JOIN customer_files cf ON cf.customer_id = oac.customer_id AND cf.restaurant_id = :restaurantId
+            WHERE oac.restaurant_id = :restaurantId
+                AND oac.order_id IN (SELECT order_id FROM day_orders)
+                AND LOWER(cf.customer_name) IN """ + INHOUSE_CUSTOMERS + """
+
+            GROUP BY oac.order_id
+        )
+        SELECT :restaurantId, o.business_date, COALESCE(o.order_type, ''),
+            COUNT(*),
+            COALESCE(SUM(o.guest_number), 0),
+            COALESCE(SUM(op.amount_paid), 0)
+                + COALESCE(SUM(oac.amount_charged), 0)
+                - COALESCE(SUM(op.employee_comp), 0)
+                - COALESCE(SUM(oac.employee_comp), 0),
+            COALESCE(SUM(o.sub_total), 0),
+            COALESCE(SUM(o.discount_amount_used), 0),
+            COUNT(voids.order_id),
+            COALESCE(SUM(voids.void_amount), 0),
+            COUNT(inhouse.order_id),
+            COALESCE(SUM(o.amount_due * inhouse.matches), 0),
+            now()
+        FROM day_orders o
+        LEFT JOIN op ON op.order_id = o.order_id
+        LEFT JOIN oac ON oac.order_id = o.order_id
+        LEFT JOIN voids ON voids.order_id = o.order_id
+        LEFT JOIN inhouse ON inhouse.order_id = o.order_id
+        GROUP BY o.business_date, COALESCE(o.order_type, '')
+        """;
+
+        return getEntityManager()
+                .createNativeQuery(sql)
+                .setParameter("restaurantId", restaurant.getId())
+                .setParameter("startDate", start)
+                .setParameter("endDate", end)
+                .setParameter("businessDates", businessDates)
+                .setParameter("timeZone", BusinessWindowUtil.getZoneId(restaurant.getTimeZone()).getId())
+                .setParameter("openingTime", restaurant.getOpeningTime())
+                .setParameter("closingTime", restaurant.getClosingTime())
+                .executeUpdate();
+    }
+
+    /**
+     * Takes the transaction scoped advisory locks of the restaurant's rollup rows of the business dates, released on
+     * commit or rollback. The locks are taken in date order, so batches touching overlapping dates cannot deadlock
+     * as long as each transaction calls this once: a second call could lock an earlier date after a later one.
+     * Transactions writing several entity lists defer their refreshes to a single call, see
+     * {@code DailySalesRollupService.deferRefreshes}.
+     */
+    public void lockBusinessDates(UUID restaurantId, SortedSet<LocalDate> businessDates) {
+        for (LocalDate businessDate : businessDates) {
+            getEntityManager()
+                    .createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:lockKey), :epochDay)")
+                    .setParameter("lockKey", "daily_sales_rollup:" + restaurantId)
+                    .setParameter("epochDay", (int) businessDate.toEpochDay())
+                    .getSingleResult();
+        }
+    }
+
+    public List<DailySalesRollupDto> findByBusinessDate(UUID restaurantId, LocalDate businessDate) {
+        return findByBusinessDate(List.of(restaurantId), businessDate).getOrDefault(restaurantId, List.of());
+    }
+
+    /**
+     * Rollup rows of the business date of several restaurants in one query, by restaurant. Each restaurant's rows
+     * were computed with its own business hours and time zone.
+     */
+    public Map<UUID, List<DailySalesRollupDto>> findByBusinessDate(Collection<UUID> restaurantIds, LocalDate businessDate) {
+        if (restaurantIds.isEmpty()) {
+            return Map.of();
+        }
+        String sql = """
+        SELECT restaurant_id, order_type, order_count, guest_count, amount_due, sub_total, discount_amount,
+            void_order_count, void_amount, inhouse_order_count, inhouse_amount
+        FROM daily_sales_rollup
+        WHERE restaurant_id IN (:restaurantIds) AND business_date = :businessDate
+        ORDER BY restaurant_id, order_type
+        """;
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = getEntityManager()
+                .createNativeQuery(sql)
+                .setParameter("restaurantIds", restaurantIds)
+                .setParameter("businessDate", businessDate)
+                .getResultList();
+
+        Map<UUID, List<DailySalesRollupDto>> rollups = new LinkedHashMap<>();
+        for (Object[] r : rows) {
+            UUID restaurantId = r[0] instanceof UUID uuid ? uuid : UUID.fromString(r[0].toString());
+            rollups.computeIfAbsent(restaurantId, k -> new ArrayList<>()).add(new DailySalesRollupDto(
+                    r[1].toString().isEmpty() ? null : r[1].toString(),   // order type
+                    ((Number) r[2]).longValue(),                           // order count
+                    ((Number) r[3]).longValue(),                           // guests
+                    (BigDecimal) r[4],                                     // amount due
+                    (BigDecimal) r[5],                                     // sub total
+                    (BigDecimal) r[6],                                     // discount
+                    ((Number) r[7]).longValue(),                           // void order count
+                    (BigDecimal) r[8],                                     // void amount
+                    ((Number) r[9]).longValue(),                           // inhouse order count
+                    (BigDecimal) r[10]                                     // inhouse amount
+            ));
+        }
+        return rollups;
+    }
+
+    /**
+     * Business date of oh.order_date_time, the date whose business window (BusinessWindowUtil) contains it:
+     * with a closing time after the opening time the local date within opening hours, otherwise (closing after
+     * midnight) the local date from the opening time on and the previous date up to the closing time. NULL outside.
+     * Binds :timeZone, :openingTime and :closingTime.
+     */
+    private static String businessDateExpression(Restaurant restaurant) {
+        String local = "(oh.order_date_time AT TIME ZONE :timeZone)";
+        if (restaurant.getClosingTime().isAfter(restaurant.getOpeningTime())) {
+            return "CASE WHEN CAST(" + local + " AS TIME) BETWEEN CAST(:openingTime AS TIME) AND CAST(:closingTime AS TIME)"
+                    + " THEN CAST(" + local + " AS DATE) END";
+        }
+        return "CASE WHEN CAST(" + local + " AS TIME) >= CAST(:openingTime AS TIME) THEN CAST(" + local + " AS DATE)"
+                + " WHEN CAST(" + local + " AS TIME) <= CAST(:closingTime AS TIME) THEN CAST(" + local + " AS DATE) - 1 END";
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().atOffset(ZoneOffset.UTC);
+        }
+        return (OffsetDateTime) value;
+    }
+}
@@ -117,27 +117,69 @@ public class DashboardRepository implements PanacheRepository<OrderHeader> {
     }
 
 
-    public List<DetailedReportDataDto> getDailyDetailedReportData(UUID restaurantId, OffsetDateTime startDate, OffsetDateTime endDate) {
-        // Fetch order headers with their payments OR inhouseOrders and transactions
+    // Orders of the daily detailed report, those with at least one transaction
+    private static final String DETAILED_REPORT_ORDERS = " FROM OrderHeader oh " +
+            " WHERE oh.restaurant.id = :restaurantId " +
+            " AND oh.orderDateTime >= :startDate " +
+            " AND oh.orderDateTime <= :endDate " +
+            " AND EXISTS (SELECT 1 FROM OrderTransaction ot WHERE ot.orderId = oh.orderId AND ot.restaurant.id = :restaurantId)";
+
+    /*
+     * The daily detailed report reads its orders and each child set (payments, on-account charges, transactions)
+     * with one query each, all ordered by orderId, so the service merges them in a single pass instead of
+     * deduplicating the payments x charges x transactions rows of one join.
+     */
+
+    public List<DetailedOrderDto> getDetailedReportOrders(UUID restaurantId, OffsetDateTime startDate, OffsetDateTime endDate) {
         return getEntityManager()
-                .createQuery("SELECT new com.posdb.sync.repository.dto.DetailedReportDataDto(" +
-                " oh.orderId, oh.orderDateTime, oh.orderType, oh.guestNumber, " +
-                        " op.orderPaymentId, oac.orderChargeId, " +
-                        " op.paymentMethod, " +
-                        " COALESCE(op.amountPaid, 0), "+
-                        " COALESCE(oac.amountCharged, 0), "+
-                        " op.employeeComp, oac.employeeComp, "+
-                " ot.orderTransactionId, ot.menuItemId, ot.quantity, ot.extendedPrice, ot.discountAmount, " +
-                " mi.menuItemText) " +
-                " FROM OrderHeader oh " +
-                " LEFT JOIN OrderPayment op ON op.orderId = oh.orderId AND op.restaurant.id = :restaurantId " +
-                        " LEFT JOIN OnAccountCharge oac ON oac.orderId = oh.orderId AND oac.restaurant.id = :restaurantId " +
-                " LEFT JOIN OrderTransaction ot ON ot.orderId = oh.orderId AND ot.restaurant.id = :restaurantId " +
-                " LEFT JOIN MenuItem mi ON mi.menuItemId = ot.menuItemId AND mi.restaurant.id = :restaurantId " +
-                " WHERE oh.restaurant.id = :restaurantId  AND ot.restaurant.id = :restaurantId " +
-                " AND oh.orderDateTime >= :startDate " +
-                " AND oh.orderDateTime <= :endDate " +
-                " ORDER BY oh.orderId, ot.orderTransactionId", DetailedReportDataDto.class)
+                .createQuery("SELECT new com.posdb.sync.repository.dto.DetailedOrderDto(" +
+                        " oh.orderId, oh.orderDateTime, oh.orderType, oh.guestNumber) " +
+                        DETAILED_REPORT_ORDERS +
+                        " ORDER BY oh.orderId", DetailedOrderDto.class)
+                .setParameter("restaurantId", restaurantId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+    }
+
+    public List<DetailedPaymentDto> getDetailedReportPayments(UUID restaurantId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return getEntityManager()
+                .createQuery("SELECT new com.posdb.sync.repository.dto.DetailedPaymentDto(" +
+                        " op.orderId, op.orderPaymentId, op.paymentMethod, COALESCE(op.amountPaid, 0), op.employeeComp) " +
+                        " FROM OrderPayment op " +
+                        " WHERE op.restaurant.id = :restaurantId " +
+                        " AND op.orderId IN (SELECT oh.orderId " + DETAILED_REPORT_ORDERS + ") " +
+                        " ORDER BY op.orderId, op.orderPaymentId", DetailedPaymentDto.class)
+                .setParameter("restaurantId", restaurantId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+    }
+
+    public List<DetailedPaymentDto> getDetailedReportCharges(UUID restaurantId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return getEntityManager()
+                .createQuery("SELECT new com.posdb.sync.repository.dto.DetailedPaymentDto(" +
+                        " oac.orderId, oac.orderChargeId, CAST(NULL AS String), COALESCE(oac.amountCharged, 0), oac.employeeComp) " +
+                        " FROM OnAccountCharge oac " +
+                        " WHERE oac.restaurant.id = :restaurantId " +
+                        " AND oac.orderId IN (SELECT oh.orderId " + DETAILED_REPORT_ORDERS + ") " +
+                        " ORDER BY oac.orderId, oac.orderChargeId", DetailedPaymentDto.class)
+                .setParameter("restaurantId", restaurantId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+    }
+
+    public List<DetailedTransactionDto> getDetailedReportTransactions(UUID restaurantId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return getEntityManager()
+                .createQuery("SELECT new com.posdb.sync.repository.dto.DetailedTransactionDto(" +
+                        " ot.orderId, ot.orderTransactionId, ot.menuItemId, ot.quantity, ot.extendedPrice, ot.discountAmount, " +
+                        " mi.menuItemText) " +
+                        " FROM OrderTransaction ot " +
+                        " LEFT JOIN MenuItem mi ON mi.menuItemId = ot.menuItemId AND mi.restaurant.id = :restaurantId " +
+                        " WHERE ot.restaurant.id = :restaurantId " +
+                        " AND ot.orderId IN (SELECT oh.orderId " + DETAILED_REPORT_ORDERS + ") " +
+                        " ORDER BY ot.orderId, ot.orderTransactionId", DetailedTransactionDto.class)
                 .setParameter("restaurantId", restaurantId)
                 .setParameter("startDate", startDate)
                 .setParameter("endDate", endDate)
@@ -2,16 +2,53 @@ package com.posdb.sync.repository;
 
 import com.posdb.sync.entity.MenuItem;
 import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.repository.dto.MenuItemHashDto;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 
-import java.util.Optional;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class MenuItemRepository implements PanacheRepositoryBase<MenuItem, Long> {
 
-    public Optional<MenuItem> findByRestaurantAndMenuItemId(Restaurant restaurant, Integer menuItemId) {
-        return find("restaurant = ?1 and menuItemId = ?2", restaurant, menuItemId).firstResultOptional();
+    /**
+     * Loads all rows of the restaurant matching the given ids with a single IN query, keyed by menuItemId.
+     * The returned map is mutable so callers can register rows they create while processing a batch.
+     */
+    public Map<Integer, MenuItem> findByRestaurantAndMenuItemIds(Restaurant restaurant, Collection<Integer> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return find("restaurant = ?1 and menuItemId in ?2", restaurant, menuItemIds).list().stream()
+                .collect(Collectors.toMap(MenuItem::getMenuItemId, row -> row, (first, duplicate) -> first, HashMap::new));
+    }
+
+    /**
+     * Menu item ids with their content hash and inactive flag for every item of the restaurant, the only query of a
+     * full sync that changes nothing.
+     */
+    public Map<Integer, MenuItemHashDto> findContentHashes(Restaurant restaurant) {
+        return getEntityManager()
+                .createQuery("SELECT new com.posdb.sync.repository.dto.MenuItemHashDto(m.menuItemId, m.contentHash, m.menuItemInActive) "
+                        + "FROM MenuItem m WHERE m.restaurant = :restaurant", MenuItemHashDto.class)
+                .setParameter("restaurant", restaurant)
+                .getResultStream()
+                .collect(Collectors.toMap(MenuItemHashDto::getMenuItemId, row -> row, (first, duplicate) -> first, HashMap::new));
     }
-}
 
+    /**
+     * Marks the given items inactive in one statement. The hash is cleared so the item is written again when the POS
+     * sends it back, even with unchanged content.
+     */
+    public int markInactive(Restaurant restaurant, Collection<Integer> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return 0;
+        }
+        return update("menuItemInActive = true, contentHash = null, updatedAt = ?1 where restaurant = ?2 and menuItemId in ?3",
+                OffsetDateTime.now(), restaurant, menuItemIds);
+    }
+}
@@ -5,13 +5,23 @@ import com.posdb.sync.entity.Restaurant;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OnAccountChargeRepository implements PanacheRepositoryBase<OnAccountCharge, Long> {
 
-    public Optional<OnAccountCharge> findByRestaurantAndChargeId(Restaurant restaurant, Integer chargeId) {
-        return find("restaurant = ?1 and orderChargeId = ?2", restaurant, chargeId).firstResultOptional();
+    /**
+     * Loads all rows of the restaurant matching the given ids with a single IN query, keyed by orderChargeId.
+     * The returned map is mutable so callers can register rows they create while processing a batch.
+     */
+    public Map<Integer, OnAccountCharge> findByRestaurantAndChargeIds(Restaurant restaurant, Collection<Integer> chargeIds) {
+        if (chargeIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return find("restaurant = ?1 and orderChargeId in ?2", restaurant, chargeIds).list().stream()
+                .collect(Collectors.toMap(OnAccountCharge::getOrderChargeId, row -> row, (first, duplicate) -> first, HashMap::new));
     }
 }
-
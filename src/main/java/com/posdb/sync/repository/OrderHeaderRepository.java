@@ -4,14 +4,130 @@ import com.posdb.sync.entity.OrderHeader;
 import com.posdb.sync.entity.Restaurant;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
 
-import java.util.Optional;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
 
 @ApplicationScoped
 public class OrderHeaderRepository implements PanacheRepositoryBase<OrderHeader, Long> {
 
-    public Optional<OrderHeader> findByRestaurantAndOrderId(Restaurant restaurant, Integer orderId) {
-        return find("restaurant = ?1 and orderId = ?2", restaurant, orderId).firstResultOptional();
+    // 27 bind parameters per row, keeps every statement far below the PostgreSQL limit of 32767 parameters
+    private static final int UPSERT_ROWS_PER_STATEMENT = 100;
+
+    private static final String UPSERT_COLUMNS = """
+            restaurant_id, order_id, order_date_time, employee_id, station_id, order_type_id, order_type,
+            dine_in_table_id, customer_id, delivery_charge, driver_employee_id, discount_id, discount_amount,
+            discount_basis, order_status_id, order_status, amount_due, cash_discount_amount,
+            cash_discount_approval_emp_id, sub_total, cash_gratuity, discount_amount_used, vat_rate, vat_amount,
+            guest_number, edit_timestamp, row_guid, created_at, updated_at""";
+
+    private static final String UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now())";
+
+    private static final String UPSERT_CONFLICT = """
+             ON CONFLICT (restaurant_id, order_id) DO UPDATE SET
+                order_date_time = EXCLUDED.order_date_time,
+                employee_id = EXCLUDED.employee_id,
+                station_id = EXCLUDED.station_id,
+                order_type_id = EXCLUDED.order_type_id,
+                order_type = EXCLUDED.order_type,
+                dine_in_table_id = EXCLUDED.dine_in_table_id,
+                customer_id = EXCLUDED.customer_id,
+                delivery_charge = EXCLUDED.delivery_charge,
+                driver_employee_id = EXCLUDED.driver_employee_id,
+                discount_id = EXCLUDED.discount_id,
+                discount_amount = EXCLUDED.discount_amount,
+                discount_basis = EXCLUDED.discount_basis,
+                order_status_id = EXCLUDED.order_status_id,
+                order_status = EXCLUDED.order_status,
+                amount_due = EXCLUDED.amount_due,
+                cash_discount_amount = EXCLUDED.cash_discount_amount,
+                cash_discount_approval_emp_id = EXCLUDED.cash_discount_approval_emp_id,
+                sub_total = EXCLUDED.sub_total,
+                cash_gratuity = EXCLUDED.cash_gratuity,
+                discount_amount_used = EXCLUDED.discount_amount_used,
+                vat_rate = EXCLUDED.vat_rate,
+                vat_amount = EXCLUDED.vat_amount,
+                guest_number = EXCLUDED.guest_number,
+                edit_timestamp = EXCLUDED.edit_timestamp,
+                row_guid = EXCLUDED.row_guid,
+                updated_at = now()
+             WHERE order_headers.edit_timestamp IS DISTINCT FROM EXCLUDED.edit_timestamp
+                OR order_headers.row_guid IS DISTINCT FROM EXCLUDED.row_guid
+            """;
+
+    /**
+     * Bulk upsert of order headers using multi-row INSERT ... ON CONFLICT (restaurant_id, order_id) DO UPDATE
+     * statements, {@value #UPSERT_ROWS_PER_STATEMENT} rows per statement.
+     * The headers must be distinct by orderId, a single statement cannot touch the same row twice.
+     * Existing rows whose edit_timestamp and row_guid match the incoming values are left untouched,
+     * so resent orders neither rewrite the row nor bump updated_at.
+     *
+     * @return number of rows inserted or updated, unchanged rows are not counted
+     */
+    public int upsertAll(Restaurant restaurant, List<OrderHeader> headers) {
+        if (headers.isEmpty()) {
+            return 0;
+        }
+        Session session = getEntityManager().unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            int written = 0;
+            for (int from = 0; from < headers.size(); from += UPSERT_ROWS_PER_STATEMENT) {
+                List<OrderHeader> rows = headers.subList(from, Math.min(from + UPSERT_ROWS_PER_STATEMENT, headers.size()));
+                String sql = "INSERT INTO order_headers (" + UPSERT_COLUMNS + ") VALUES "
+                        + String.join(", ", Collections.nCopies(rows.size(), UPSERT_ROW))
+                        + UPSERT_CONFLICT;
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (OrderHeader header : rows) {
+                        index = bindUpsertRow(statement, index, restaurant, header);
+                    }
+                    written += statement.executeUpdate();
+                }
+            }
+            return written;
+        });
     }
-}
 
+    private int bindUpsertRow(PreparedStatement statement, int index, Restaurant restaurant, OrderHeader header) throws SQLException {
+        statement.setObject(index++, restaurant.getId());
+        setNullable(statement, index++, header.getOrderId(), Types.INTEGER);
+        setNullable(statement, index++, header.getOrderDateTime(), Types.TIMESTAMP_WITH_TIMEZONE);
+        setNullable(statement, index++, header.getEmployeeId(), Types.INTEGER);
+        setNullable(statement, index++, header.getStationId(), Types.INTEGER);
+        setNullable(statement, index++, header.getOrderTypeId(), Types.VARCHAR);
+        setNullable(statement, index++, header.getOrderType() != null ? header.getOrderType().name() : null, Types.VARCHAR);
+        setNullable(statement, index++, header.getDineInTableId(), Types.INTEGER);
+        setNullable(statement, index++, header.getCustomerId(), Types.INTEGER);
+        setNullable(statement, index++, header.getDeliveryCharge(), Types.NUMERIC);
+        setNullable(statement, index++, header.getDriverEmployeeId(), Types.INTEGER);
+        setNullable(statement, index++, header.getDiscountId(), Types.INTEGER);
+        setNullable(statement, index++, header.getDiscountAmount(), Types.NUMERIC);
+        setNullable(statement, index++, header.getDiscountBasis(), Types.VARCHAR);
+        setNullable(statement, index++, header.getOrderStatusId(), Types.VARCHAR);
+        setNullable(statement, index++, header.getOrderStatus() != null ? header.getOrderStatus().name() : null, Types.VARCHAR);
+        setNullable(statement, index++, header.getAmountDue(), Types.NUMERIC);
+        setNullable(statement, index++, header.getCashDiscountAmount(), Types.NUMERIC);
+        setNullable(statement, index++, header.getCashDiscountApprovalEmpId(), Types.INTEGER);
+        setNullable(statement, index++, header.getSubTotal(), Types.NUMERIC);
+        setNullable(statement, index++, header.getCashGratuity(), Types.NUMERIC);
+        setNullable(statement, index++, header.getDiscountAmountUsed(), Types.NUMERIC);
+        setNullable(statement, index++, header.getVatRate(), Types.DOUBLE);
+        setNullable(statement, index++, header.getVatAmount(), Types.NUMERIC);
+        setNullable(statement, index++, header.getGuestNumber(), Types.INTEGER);
+        setNullable(statement, index++, header.getEditTimestamp(), Types.TIMESTAMP_WITH_TIMEZONE);
+        setNullable(statement, index++, header.getRowGuid(), Types.VARCHAR);
+        return index;
+    }
+
+    private static void setNullable(PreparedStatement statement, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, sqlType);
+        } else {
+            statement.setObject(index, value);
+        }
+    }
+}
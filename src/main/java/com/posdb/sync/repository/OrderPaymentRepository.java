@@ -5,13 +5,23 @@ import com.posdb.sync.entity.Restaurant;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OrderPaymentRepository implements PanacheRepositoryBase<OrderPayment, Long> {
 
-    public Optional<OrderPayment> findByRestaurantAndOrderPaymentId(Restaurant restaurant, Integer orderPaymentId) {
-        return find("restaurant = ?1 and orderPaymentId = ?2", restaurant, orderPaymentId).firstResultOptional();
+    /**
+     * Loads all rows of the restaurant matching the given ids with a single IN query, keyed by orderPaymentId.
+     * The returned map is mutable so callers can register rows they create while processing a batch.
+     */
+    public Map<Integer, OrderPayment> findByRestaurantAndOrderPaymentIds(Restaurant restaurant, Collection<Integer> orderPaymentIds) {
+        if (orderPaymentIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return find("restaurant = ?1 and orderPaymentId in ?2", restaurant, orderPaymentIds).list().stream()
+                .collect(Collectors.toMap(OrderPayment::getOrderPaymentId, row -> row, (first, duplicate) -> first, HashMap::new));
     }
 }
-
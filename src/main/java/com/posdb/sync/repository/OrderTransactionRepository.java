@@ -1,17 +1,138 @@
 package com.posdb.sync.repository;
 
 import com.posdb.sync.entity.OrderTransaction;
+import com.posdb.sync.dto.sync.OrderTransactionData;
 import com.posdb.sync.entity.Restaurant;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OrderTransactionRepository implements PanacheRepositoryBase<OrderTransaction, Long> {
 
-    public Optional<OrderTransaction> findByRestaurantAndOrderTransactionId(Restaurant restaurant, Integer orderTransactionId) {
-        return find("restaurant = ?1 and orderTransactionId = ?2", restaurant, orderTransactionId).firstResultOptional();
+    private static final String STAGING_COLUMNS = """
+            order_transaction_id, order_id, menu_item_id, menu_item_unit_price, quantity, extended_price, discount_id,
+            discount_amount, discount_basis, discount_amount_used, row_guid""";
+
+    private static final String COPY_STAGING = "COPY order_transactions_staging (batch_id, " + STAGING_COLUMNS
+            + ") FROM STDIN (FORMAT csv)";
+
+    private static final String MERGE_STAGING = "INSERT INTO order_transactions (restaurant_id, " + STAGING_COLUMNS
+            + ", created_at, updated_at) SELECT ?, " + STAGING_COLUMNS + ", now(), now() FROM order_transactions_staging WHERE batch_id = ?"
+            + """
+             ON CONFLICT (restaurant_id, order_transaction_id) DO UPDATE SET
+                order_id = EXCLUDED.order_id,
+                menu_item_id = EXCLUDED.menu_item_id,
+                menu_item_unit_price = EXCLUDED.menu_item_unit_price,
+                quantity = EXCLUDED.quantity,
+                extended_price = EXCLUDED.extended_price,
+                discount_id = EXCLUDED.discount_id,
+                discount_amount = EXCLUDED.discount_amount,
+                discount_basis = EXCLUDED.discount_basis,
+                discount_amount_used = EXCLUDED.discount_amount_used,
+                row_guid = EXCLUDED.row_guid,
+                updated_at = now()
+             WHERE (order_transactions.order_id, order_transactions.menu_item_id, order_transactions.menu_item_unit_price,
+                    order_transactions.quantity, order_transactions.extended_price, order_transactions.discount_id,
+                    order_transactions.discount_amount, order_transactions.discount_basis,
+                    order_transactions.discount_amount_used, order_transactions.row_guid)
+                IS DISTINCT FROM (EXCLUDED.order_id, EXCLUDED.menu_item_id, EXCLUDED.menu_item_unit_price, EXCLUDED.quantity,
+                    EXCLUDED.extended_price, EXCLUDED.discount_id, EXCLUDED.discount_amount, EXCLUDED.discount_basis,
+                    EXCLUDED.discount_amount_used, EXCLUDED.row_guid)
+            """;
+
+    /**
+     * Loads all rows of the restaurant matching the given ids with a single IN query, keyed by orderTransactionId.
+     * The returned map is mutable so callers can register rows they create while processing a batch.
+     */
+    public Map<Integer, OrderTransaction> findByRestaurantAndOrderTransactionIds(Restaurant restaurant, Collection<Integer> orderTransactionIds) {
+        if (orderTransactionIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return find("restaurant = ?1 and orderTransactionId in ?2", restaurant, orderTransactionIds).list().stream()
+                .collect(Collectors.toMap(OrderTransaction::getOrderTransactionId, row -> row, (first, duplicate) -> first, HashMap::new));
     }
-}
 
+    /**
+     * Bulk ingest for backfills: streams the transactions into the UNLOGGED order_transactions_staging table with
+     * COPY, merges them with a single INSERT ... SELECT ... ON CONFLICT (restaurant_id, order_transaction_id) DO UPDATE
+     * and deletes the staged rows again, all in the current transaction.
+     * The transactions must be distinct by orderTransactionId and carry orderTransactionId and orderId.
+     * Existing rows whose values all match the incoming ones are left untouched.
+     *
+     * @return number of rows inserted or updated, unchanged rows are not counted
+     */
+    public int copyMerge(Restaurant restaurant, List<OrderTransactionData> transactions) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        UUID batchId = UUID.randomUUID();
+        StringBuilder csv = new StringBuilder(transactions.size() * 96);
+        for (OrderTransactionData data : transactions) {
+            csv.append(batchId);
+            appendCsv(csv, data.getOrderTransactionId());
+            appendCsv(csv, data.getOrderId());
+            appendCsv(csv, data.getMenuItemId());
+            appendCsv(csv, data.getMenuItemUnitPrice());
+            appendCsv(csv, data.getQuantity());
+            appendCsv(csv, data.getExtendedPrice());
+            appendCsv(csv, data.getDiscountId());
+            appendCsv(csv, data.getDiscountAmount());
+            appendCsv(csv, data.getDiscountBasis());
+            appendCsv(csv, data.getDiscountAmountUsed());
+            appendCsv(csv, data.getRowGuid());
+            csv.append('\n');
+        }
+
+        Session session = getEntityManager().unwrap(Session.class);
+        return session.doReturningWork(connection -> {
+            try {
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into order_transactions_staging failed", e);
+            }
+            int written;
+            try (PreparedStatement merge = connection.prepareStatement(MERGE_STAGING)) {
+                merge.setObject(1, restaurant.getId());
+                merge.setObject(2, batchId);
+                written = merge.executeUpdate();
+            }
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM order_transactions_staging WHERE batch_id = ?")) {
+                delete.setObject(1, batchId);
+                delete.executeUpdate();
+            }
+            return written;
+        });
+    }
+
+    /**
+     * Appends one CSV field. Null is written as an unquoted empty field (NULL in COPY csv format), strings are always
+     * quoted so an empty string stays distinct from NULL.
+     */
+    private static void appendCsv(StringBuilder csv, Object value) {
+        csv.append(',');
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String text) {
+            csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else if (value instanceof BigDecimal decimal) {
+            csv.append(decimal.toPlainString());
+        } else {
+            csv.append(value);
+        }
+    }
+}
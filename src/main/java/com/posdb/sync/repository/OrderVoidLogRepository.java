@@ -5,13 +5,23 @@ import com.posdb.sync.entity.Restaurant;
 import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
 import jakarta.enterprise.context.ApplicationScoped;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class OrderVoidLogRepository implements PanacheRepositoryBase<OrderVoidLog, Long> {
 
-    public Optional<OrderVoidLog> findByRestaurantAndAutoId(Restaurant restaurant, Integer autoId) {
-        return find("restaurant = ?1 and autoId = ?2", restaurant, autoId).firstResultOptional();
+    /**
+     * Loads all rows of the restaurant matching the given ids with a single IN query, keyed by autoId.
+     * The returned map is mutable so callers can register rows they create while processing a batch.
+     */
+    public Map<Integer, OrderVoidLog> findByRestaurantAndAutoIds(Restaurant restaurant, Collection<Integer> autoIds) {
+        if (autoIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return find("restaurant = ?1 and autoId in ?2", restaurant, autoIds).list().stream()
+                .collect(Collectors.toMap(OrderVoidLog::getAutoId, row -> row, (first, duplicate) -> first, HashMap::new));
     }
 }
-
@@ -0,0 +1,37 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.Restaurant;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.Session;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@ApplicationScoped
+public class RestaurantRepository implements PanacheRepositoryBase<Restaurant, UUID> {
+
+    /**
+     * Writes the given last sync times with one JDBC batch of UPDATE statements.
+     * GREATEST keeps a newer value written by another instance.
+     */
+    public void updateLastSyncTimes(Map<UUID, OffsetDateTime> lastSyncTimes) {
+        if (lastSyncTimes.isEmpty()) {
+            return;
+        }
+        Session session = getEntityManager().unwrap(Session.class);
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE restaurant SET last_sync_time = GREATEST(last_sync_time, ?) WHERE id = ?")) {
+                for (Map.Entry<UUID, OffsetDateTime> entry : lastSyncTimes.entrySet()) {
+                    statement.setObject(1, entry.getValue());
+                    statement.setObject(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.SyncDeadLetter;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class SyncDeadLetterRepository implements PanacheRepositoryBase<SyncDeadLetter, Long> {
+}
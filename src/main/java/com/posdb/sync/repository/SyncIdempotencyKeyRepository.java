@@ -0,0 +1,42 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.SyncIdempotencyKey;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@ApplicationScoped
+public class SyncIdempotencyKeyRepository implements PanacheRepositoryBase<SyncIdempotencyKey, Long> {
+
+    public Optional<SyncIdempotencyKey> findByRestaurantAndKey(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey) {
+        return find("restaurant = ?1 and entityType = ?2 and idempotencyKey = ?3", restaurant, entityType, idempotencyKey)
+                .firstResultOptional();
+    }
+
+    /**
+     * Stores the response for the key in one statement, replacing an earlier (expired) response, so two concurrent
+     * retries of the same batch cannot both insert it.
+     */
+    public void upsert(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey, String response, OffsetDateTime expiresAt) {
+        getEntityManager().createNativeQuery("""
+                        INSERT INTO sync_idempotency_keys (restaurant_id, entity_type, idempotency_key, response, expires_at, created_at, updated_at)
+                        VALUES (:restaurantId, :entityType, :idempotencyKey, :response, :expiresAt, now(), now())
+                        ON CONFLICT (restaurant_id, entity_type, idempotency_key)
+                        DO UPDATE SET response = EXCLUDED.response, expires_at = EXCLUDED.expires_at, updated_at = now()
+                        """)
+                .setParameter("restaurantId", restaurant.getId())
+                .setParameter("entityType", entityType.name())
+                .setParameter("idempotencyKey", idempotencyKey)
+                .setParameter("response", response)
+                .setParameter("expiresAt", expiresAt)
+                .executeUpdate();
+    }
+
+    public long deleteExpired(OffsetDateTime now) {
+        return delete("expiresAt < ?1", now);
+    }
+}
@@ -0,0 +1,100 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.SyncJob;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.entity.enums.SyncJobStatus;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class SyncJobRepository implements PanacheRepositoryBase<SyncJob, Long> {
+
+    public Optional<SyncJob> findByRestaurantAndId(Restaurant restaurant, Long id) {
+        return find("restaurant = ?1 and id = ?2", restaurant, id).firstResultOptional();
+    }
+
+    /**
+     * Latest job submitted with the idempotency key since {@code since} that did not fail.
+     */
+    public Optional<SyncJob> findByIdempotencyKey(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey,
+                                                  OffsetDateTime since) {
+        return find("restaurant = ?1 and entityType = ?2 and idempotencyKey = ?3 and createdAt > ?4 and status <> ?5 order by id desc",
+                restaurant, entityType, idempotencyKey, since, SyncJobStatus.FAILED).firstResultOptional();
+    }
+
+    /**
+     * Serializes submits of the same idempotency key until the end of the transaction, so two concurrent retries
+     * cannot both queue a job.
+     */
+    public void lockIdempotencyKey(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey) {
+        getEntityManager().createNativeQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:key))")
+                .setParameter("key", "sync_jobs:" + restaurant.getId() + ":" + entityType + ":" + idempotencyKey)
+                .getSingleResult();
+    }
+
+    /**
+     * Deletes SUCCEEDED and FAILED jobs that finished before {@code finishedBefore}.
+     */
+    public long deleteFinished(OffsetDateTime finishedBefore) {
+        return delete("status in ?1 and finishedAt < ?2", List.of(SyncJobStatus.SUCCEEDED, SyncJobStatus.FAILED), finishedBefore);
+    }
+
+    /**
+     * Marks the oldest QUEUED job of up to {@code limit} restaurants as RUNNING under {@code owner} with a lease of
+     * {@code lease} and returns their ids, in one statement. Restaurants that already have a RUNNING job are skipped,
+     * so the jobs of one restaurant run one at a time in FIFO order. Instances claiming at the same time skip each
+     * other's rows instead of claiming them twice.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> claimNextJobs(int limit, String owner, Duration lease) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE sync_jobs SET status = 'RUNNING', started_at = now(), claimed_by = :owner,
+                            lease_expires_at = now() + make_interval(secs => :leaseSeconds), updated_at = now()
+                        WHERE id IN (
+                            SELECT j.id FROM sync_jobs j
+                            WHERE j.status = 'QUEUED'
+                              AND NOT EXISTS (SELECT 1 FROM sync_jobs q WHERE q.restaurant_id = j.restaurant_id AND q.status = 'QUEUED' AND q.id < j.id)
+                              AND NOT EXISTS (SELECT 1 FROM sync_jobs r WHERE r.restaurant_id = j.restaurant_id AND r.status = 'RUNNING')
+                            ORDER BY j.id
+                            LIMIT :limit
+                            FOR UPDATE SKIP LOCKED
+                        )
+                        RETURNING id
+                        """, Long.class)
+                .setParameter("owner", owner)
+                .setParameter("leaseSeconds", lease.toSeconds())
+                .setParameter("limit", limit)
+                .getResultList();
+    }
+
+    /**
+     * Extends the lease of the jobs {@code owner} is running.
+     */
+    public int renewLeases(String owner, Duration lease) {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE sync_jobs SET lease_expires_at = now() + make_interval(secs => :leaseSeconds)
+                        WHERE status = 'RUNNING' AND claimed_by = :owner
+                        """)
+                .setParameter("owner", owner)
+                .setParameter("leaseSeconds", lease.toSeconds())
+                .executeUpdate();
+    }
+
+    /**
+     * Puts RUNNING jobs whose lease expired, left behind by a stopped instance, back in the queue.
+     */
+    public int requeueExpiredJobs() {
+        return getEntityManager().createNativeQuery("""
+                        UPDATE sync_jobs SET status = 'QUEUED', started_at = NULL, claimed_by = NULL, lease_expires_at = NULL,
+                            updated_at = now()
+                        WHERE status = 'RUNNING' AND (lease_expires_at IS NULL OR lease_expires_at < now())
+                        """)
+                .executeUpdate();
+    }
+}
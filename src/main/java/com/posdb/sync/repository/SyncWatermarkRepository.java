@@ -0,0 +1,52 @@
+package com.posdb.sync.repository;
+
+import com.posdb.sync.entity.enums.SyncEntityType;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@ApplicationScoped
+public class SyncWatermarkRepository {
+
+    @Inject
+    EntityManager entityManager;
+
+    /**
+     * Raises the watermark of the restaurant / entity type to the given values, never lowers it.
+     * GREATEST ignores NULLs, so a batch without timestamps keeps the stored max_timestamp.
+     */
+    public void advance(UUID restaurantId, SyncEntityType entityType, Long maxKey, OffsetDateTime maxTimestamp) {
+        entityManager.createNativeQuery("""
+                        INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+                        VALUES (:restaurantId, :entityType, :maxKey, :maxTimestamp, now())
+                        ON CONFLICT (restaurant_id, entity_type) DO UPDATE SET
+                            max_key = GREATEST(sync_watermarks.max_key, EXCLUDED.max_key),
+                            max_timestamp = GREATEST(sync_watermarks.max_timestamp, EXCLUDED.max_timestamp),
+                            updated_at = now()
+                        """)
+                .setParameter("restaurantId", restaurantId)
+                .setParameter("entityType", entityType.name())
+                .setParameter("maxKey", maxKey)
+                .setParameter("maxTimestamp", maxTimestamp)
+                .executeUpdate();
+    }
+
+    /**
+     * @return rows of entity_type, max_key, max_timestamp, updated_at
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findByRestaurant(UUID restaurantId) {
+        return entityManager.createNativeQuery("""
+                        SELECT entity_type, max_key, max_timestamp, updated_at
+                        FROM sync_watermarks
+                        WHERE restaurant_id = :restaurantId
+                        ORDER BY entity_type
+                        """)
+                .setParameter("restaurantId", restaurantId)
+                .getResultList();
+    }
+}
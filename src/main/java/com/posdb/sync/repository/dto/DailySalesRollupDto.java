@@ -0,0 +1,23 @@
+package com.posdb.sync.repository.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DailySalesRollupDto {
+    private String orderType;// null for orders without order type
+    private Long orderCount;
+    private Long guestCount;
+    private BigDecimal amountDue;
+    private BigDecimal subTotal;
+    private BigDecimal discountAmount;
+    private Long voidOrderCount;
+    private BigDecimal voidAmount;
+    private Long inhouseOrderCount;
+    private BigDecimal inhouseAmount;
+}
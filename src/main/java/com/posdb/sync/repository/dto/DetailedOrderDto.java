@@ -0,0 +1,18 @@
+package com.posdb.sync.repository.dto;
+
+import com.posdb.sync.entity.enums.OrderTypeEnum;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DetailedOrderDto {
+    private Integer orderId;
+    private OffsetDateTime orderDateTime;
+    private OrderTypeEnum orderType;
+    private Integer guestNumber;
+}
@@ -0,0 +1,21 @@
+package com.posdb.sync.repository.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * A payment or an on-account charge of an order in the daily detailed report.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DetailedPaymentDto {
+    private Integer orderId;
+    private Integer id;// orderPaymentId or orderChargeId
+    private String paymentMethod;// null for charges
+    private BigDecimal amount;
+    private BigDecimal employeeComp;
+}
@@ -0,0 +1,20 @@
+package com.posdb.sync.repository.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class DetailedTransactionDto {
+    private Integer orderId;
+    private Integer orderTransactionId;
+    private Integer menuItemId;
+    private BigDecimal quantity;
+    private BigDecimal extendedPrice;
+    private BigDecimal discountAmount;
+    private String menuItemText;
+}
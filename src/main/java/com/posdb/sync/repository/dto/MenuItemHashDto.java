@@ -0,0 +1,14 @@
+package com.posdb.sync.repository.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class MenuItemHashDto {
+    private Integer menuItemId;
+    private String contentHash;
+    private Boolean menuItemInActive;
+}
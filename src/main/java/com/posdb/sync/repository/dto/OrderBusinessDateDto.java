@@ -0,0 +1,16 @@
+package com.posdb.sync.repository.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class OrderBusinessDateDto {
+    private OffsetDateTime orderDateTime;
+    private LocalDate businessDate;// null outside the business hours
+}
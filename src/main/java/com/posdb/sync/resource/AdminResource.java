@@ -4,13 +4,19 @@ import com.posdb.sync.dto.request.CreateUserRequest;
 import com.posdb.sync.dto.request.CreateRestaurantRequest;
 import com.posdb.sync.dto.response.ApiResponse;
 import com.posdb.sync.dto.response.CreateRestaurantResponse;
+import com.posdb.sync.dto.response.RestaurantHeartbeatResponse;
 import com.posdb.sync.service.AdminService;
+import com.posdb.sync.service.DailySalesRollupService;
+import com.posdb.sync.service.SyncHeartbeatService;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Path("/api/v1/admin")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
@@ -20,6 +26,12 @@ public class AdminResource {
     @Inject
     AdminService adminService;
 
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
     // For creating new restaurant, For internal use only, not exposed to mobile app.
     // Used by admin panel to create new restaurant and its first user (owner)
 
@@ -43,6 +55,30 @@ public class AdminResource {
                 .build();
     }
 
+    // Last sync time of every restaurant, including heartbeats not yet flushed to the restaurant table
+    @GET
+    @Path("/restaurants/heartbeats")
+    public Response getHeartbeats() {
+        log.info("AdminResource:: Listing restaurant sync heartbeats");
+        List<RestaurantHeartbeatResponse> heartbeats = syncHeartbeatService.getHeartbeats();
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, heartbeats, null))
+                .build();
+    }
+
+    // Recomputes the dashboard rollup of a restaurant, e.g. after its business hours changed.
+    // Without from/to the whole order history is rebuilt (done once per restaurant by DailySalesRollupBackfillJob).
+    @POST
+    @Path("/restaurants/{restaurantId}/rollup/rebuild")
+    public Response rebuildDailySalesRollup(@PathParam("restaurantId") String restaurantId,
+                                            @QueryParam("from") LocalDate from, @QueryParam("to") LocalDate to) {
+        log.info("AdminResource:: Rebuilding daily sales rollup for restaurantId: {} from {} to {}", restaurantId, from, to);
+        int rows = dailySalesRollupService.rebuild(restaurantId, from, to);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, rows, null))
+                .build();
+    }
+
     //adding restaurant under existing owner not available right now, will be done through query.
     //instead of this better to have link restaurant and user type of api.
     //create separate api for creating user and one more api to link restaurant to user, we already hv dedicated create restuarnt api
@@ -17,10 +17,12 @@ import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_CBOR;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_SMILE;
 
 @Path("/api/v1/pos")
 @Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR})
 @RequestScoped
 @Slf4j
 public class MenuItemSyncResource {
@@ -41,8 +43,9 @@ public class MenuItemSyncResource {
         }
 
         SyncResponse syncResponse = menuItemSyncService.syncMenuItems(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 
@@ -59,8 +62,9 @@ public class MenuItemSyncResource {
         }
 
         SyncResponse syncResponse = menuItemSyncService.fullSyncMenuItems(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 }
@@ -1,24 +1,32 @@
 package com.posdb.sync.resource;
 
 import com.posdb.sync.dto.response.ApiResponse;
+import com.posdb.sync.dto.response.SyncJobResponse;
 import com.posdb.sync.dto.response.SyncResponse;
 import com.posdb.sync.dto.sync.*;
+import com.posdb.sync.entity.enums.SyncEntityType;
 import com.posdb.sync.service.OrderMiscSyncService;
+import com.posdb.sync.service.SyncJobService;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_CBOR;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_SMILE;
+
 @Path("/api/v1/pos/misc")
 @Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR})
 @RequestScoped
 @Slf4j
 public class OrderMiscSyncResource {
@@ -26,34 +34,61 @@ public class OrderMiscSyncResource {
     @Inject
     OrderMiscSyncService orderMiscSyncService;
 
+    @Inject
+    SyncJobService syncJobService;
+
 
     @POST
     @Path("/ordervoidlogs/sync")
-    public Response syncOrderVoidLogs(OrderVoidLogSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncOrderVoidLogs(OrderVoidLogSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                      @Context HttpHeaders headers) {
         log.info("orderMiscSyncResource:: Received Sync ORDER_VOID_LOGS request: {}", request.getOrderVoidLogs().size());
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.ORDER_VOID_LOGS, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderMiscSyncService.syncOrderVoidLogs(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 
     @POST
     @Path("/onaccountcharges/sync")
-    public Response syncOnAccountCharges(OnAccountChargeSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncOnAccountCharges(OnAccountChargeSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                         @Context HttpHeaders headers) {
         log.info("orderMiscSyncResource:: Received Sync ON_ACCOUNT_CHARGES request: {}", request.getOnAccountCharges().size());
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.ON_ACCOUNT_CHARGES, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderMiscSyncService.syncOnAccountCharges(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 
     @POST
     @Path("/customerfiles/sync")
-    public Response syncCustomerFiles(CustomerFileSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncCustomerFiles(CustomerFileSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                      @Context HttpHeaders headers) {
         log.info("orderMiscSyncResource:: Received Sync CUSTOMER_FILES request: {}", request.getCustomerFiles().size());
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.CUSTOMER_FILES, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderMiscSyncService.syncCustomerFiles(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 }
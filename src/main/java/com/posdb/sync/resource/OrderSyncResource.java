@@ -4,8 +4,15 @@ import com.posdb.sync.dto.sync.OrderHeaderSyncRequest;
 import com.posdb.sync.dto.response.ApiResponse;
 import com.posdb.sync.dto.sync.OrderPaymentSyncRequest;
 import com.posdb.sync.dto.sync.OrderTransactionSyncRequest;
+import com.posdb.sync.dto.sync.PosSyncRequest;
+import com.posdb.sync.dto.response.PosSyncResponse;
+import com.posdb.sync.dto.response.StreamSyncResponse;
+import com.posdb.sync.dto.response.SyncJobResponse;
 import com.posdb.sync.dto.response.SyncResponse;
+import com.posdb.sync.entity.enums.SyncEntityType;
 import com.posdb.sync.service.OrderSyncService;
+import com.posdb.sync.service.PosSyncService;
+import com.posdb.sync.service.SyncJobService;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -15,11 +22,16 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.InputStream;
+
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_CBOR;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_NDJSON;
+import static com.posdb.sync.dto.constants.AppConstants.APPLICATION_SMILE;
 
 @Path("/api/v1/pos")
 @Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, APPLICATION_SMILE, APPLICATION_CBOR})
 @RequestScoped
 @Slf4j
 public class OrderSyncResource {
@@ -27,9 +39,40 @@ public class OrderSyncResource {
     @Inject
     OrderSyncService orderSyncService;
 
+    @Inject
+    PosSyncService posSyncService;
+
+    @Inject
+    SyncJobService syncJobService;
+
+    @POST
+    @Path("/sync")
+    public Response sync(PosSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                         @Context HttpHeaders headers) {
+        log.info("OrderSyncResource:: Received unified POS sync request");
+        String apiKey = headers.getHeaderString(API_KEY);
+        if(apiKey == null || apiKey.isEmpty()) {
+            log.warn("OrderSyncResource:: Missing API Key in headers");
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ApiResponse<>(400, null, "Missing API Key in headers"))
+                    .build();
+        }
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.POS_SYNC, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
+        PosSyncResponse posSyncResponse = posSyncService.sync(request, headers);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, posSyncResponse, null))
+                .build();
+    }
+
     @POST
     @Path("/orderheaders/sync")
-    public Response syncOrderHeaders(OrderHeaderSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncOrderHeaders(OrderHeaderSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                     @Context HttpHeaders headers) {
         log.info("OrderSyncResource:: Received Sync ORDER_HEADERS request: {}", request.getOrderHeaders().size());
         String apiKey = headers.getHeaderString(API_KEY);
         if(apiKey == null || apiKey.isEmpty()) {
@@ -38,29 +81,72 @@ public class OrderSyncResource {
                     .entity(new ApiResponse<>(400, null, "Missing API Key in headers"))
                     .build();
         }
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.ORDER_HEADERS, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderSyncService.syncOrderHeaders(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        // 207 Multi-Status: the batch was applied but some records failed, see errors
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
+                .build();
+    }
+
+    @POST
+    @Path("/orderheaders/stream")
+    @Consumes(APPLICATION_NDJSON)
+    public Response streamOrderHeaders(InputStream body, @QueryParam("cursor") @DefaultValue("0") long cursor,
+                                       @Context HttpHeaders headers) {
+        log.info("OrderSyncResource:: Received Stream ORDER_HEADERS request, cursor: {}", cursor);
+        StreamSyncResponse streamResponse = orderSyncService.streamOrderHeaders(body, cursor, headers);
+        if (!streamResponse.getCompleted()) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(new ApiResponse<>(500, streamResponse, streamResponse.getFailureDetails()))
+                    .build();
+        }
+        // 207 Multi-Status: the stream was applied but some records were dead-lettered, see errors
+        int status = streamResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, streamResponse, null))
                 .build();
     }
 
     @POST
     @Path("/orderpayments/sync")
-    public Response syncOrderPayments(OrderPaymentSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncOrderPayments(OrderPaymentSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                      @Context HttpHeaders headers) {
         log.info("OrderSyncResource:: Received Sync ORDER_PAYMENTS request: {}", request.getOrderPayments().size());
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.ORDER_PAYMENTS, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderSyncService.syncOrderPayments(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 
     @POST
     @Path("/ordertransactions/sync")
-    public Response syncOrderTransactions(OrderTransactionSyncRequest request, @Context HttpHeaders headers) {
+    public Response syncOrderTransactions(OrderTransactionSyncRequest request, @QueryParam("async") @DefaultValue("false") boolean async,
+                                          @Context HttpHeaders headers) {
         log.info("OrderSyncResource:: Received Sync ORDER_TRANSACTIONS request: {}", request.getOrderTransactions().size());
+        if (async) {
+            SyncJobResponse job = syncJobService.enqueue(SyncEntityType.ORDER_TRANSACTIONS, request, headers);
+            return Response.status(Response.Status.ACCEPTED)
+                    .entity(new ApiResponse<>(202, job, null))
+                    .build();
+        }
         SyncResponse syncResponse = orderSyncService.syncOrderTransactions(request, headers);
-        return Response.status(Response.Status.OK)
-                .entity(new ApiResponse<>(200, syncResponse, null))
+        int status = syncResponse.getFailedRecords() > 0 ? 207 : 200;
+        return Response.status(status)
+                .entity(new ApiResponse<>(status, syncResponse, null))
                 .build();
     }
 }
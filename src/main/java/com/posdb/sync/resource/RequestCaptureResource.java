@@ -0,0 +1,51 @@
+package com.posdb.sync.resource;
+
+import com.posdb.sync.dto.response.ApiResponse;
+import com.posdb.sync.dto.response.RequestCaptureResponse;
+import com.posdb.sync.service.RequestCaptureService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+// Admin only (Basic Auth through BasicAuthFilter), for troubleshooting POS payloads
+@Path("/api/v1/admin/captures")
+@Produces(MediaType.APPLICATION_JSON)
+@Slf4j
+public class RequestCaptureResource {
+
+    @Inject
+    RequestCaptureService requestCaptureService;
+
+    @GET
+    public Response getCaptures(@QueryParam("restaurantId") String restaurantId) {
+        log.info("RequestCaptureResource:: Listing request captures for restaurantId: {}", restaurantId);
+        List<RequestCaptureResponse> captures = requestCaptureService.getCaptures(restaurantId);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, captures, null))
+                .build();
+    }
+
+    @PUT
+    @Path("/restaurants/{restaurantId}")
+    public Response enableRestaurant(@PathParam("restaurantId") String restaurantId) {
+        log.info("RequestCaptureResource:: Enabling request capture for restaurantId: {}", restaurantId);
+        requestCaptureService.enableRestaurant(restaurantId);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, "Success", null))
+                .build();
+    }
+
+    @DELETE
+    @Path("/restaurants/{restaurantId}")
+    public Response disableRestaurant(@PathParam("restaurantId") String restaurantId) {
+        log.info("RequestCaptureResource:: Disabling request capture for restaurantId: {}", restaurantId);
+        requestCaptureService.disableRestaurant(restaurantId);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, "Success", null))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.posdb.sync.resource;
+
+import com.posdb.sync.dto.response.ApiResponse;
+import com.posdb.sync.dto.response.SyncJobResponse;
+import com.posdb.sync.service.SyncJobService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+@Path("/api/v1/pos/jobs")
+@Produces(MediaType.APPLICATION_JSON)
+@RequestScoped
+@Slf4j
+public class SyncJobResource {
+
+    @Inject
+    SyncJobService syncJobService;
+
+    @GET
+    @Path("/{id}")
+    public Response getJob(@PathParam("id") Long id, @Context HttpHeaders headers) {
+        log.info("SyncJobResource:: Received sync job status request: {}", id);
+        SyncJobResponse job = syncJobService.getJob(id, headers);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, job, null))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.posdb.sync.resource;
+
+import com.posdb.sync.dto.response.ApiResponse;
+import com.posdb.sync.dto.response.SyncWatermarkResponse;
+import com.posdb.sync.service.SyncWatermarkService;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Path("/api/v1/pos/watermarks")
+@Produces(MediaType.APPLICATION_JSON)
+@RequestScoped
+@Slf4j
+public class SyncWatermarkResource {
+
+    @Inject
+    SyncWatermarkService syncWatermarkService;
+
+    @GET
+    public Response getWatermarks(@Context HttpHeaders headers) {
+        log.info("SyncWatermarkResource:: Received sync watermarks request");
+        List<SyncWatermarkResponse> watermarks = syncWatermarkService.getWatermarks(headers);
+        return Response.status(Response.Status.OK)
+                .entity(new ApiResponse<>(200, watermarks, null))
+                .build();
+    }
+}
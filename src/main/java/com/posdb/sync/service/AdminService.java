@@ -28,6 +28,8 @@ public class AdminService {
     RandomKeyGenerator keyGenerator;
     @Inject
     PasswordUtil passwordUtil;
+    @Inject
+    ApiKeyValidatorService apiKeyValidatorService;
 
     @Transactional
     public CreateRestaurantResponse createRestaurant(CreateRestaurantRequest request) {
@@ -103,6 +105,8 @@ public class AdminService {
             user.setRole(request.getRole() != null ? UserRole.valueOf(request.getRole()) : UserRole.OWNER);
             user.setMustChangePassword(true);
             user.persist();
+            // the new link is the restaurant's sync subscription, drop the cached "no subscription" state
+            apiKeyValidatorService.invalidate(restaurant.getApiKey());
 
             log.info("AdminService:: Owner created successfully for restaurantId: {} with email: {}", restaurantId, request.getEmail());
         } catch (AppException e) {
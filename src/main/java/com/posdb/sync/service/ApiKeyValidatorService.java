@@ -1,11 +1,24 @@
 package com.posdb.sync.service;
 
 import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.UserRestaurant;
+import com.posdb.sync.metrics.SyncMetrics;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.annotation.Resource;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.NoResultException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.UUID;
+
 
 @ApplicationScoped
 @Slf4j
@@ -14,44 +27,135 @@ public class ApiKeyValidatorService {
     @Inject
     SubscriptionService subscriptionService;
 
+    // API key -> RestaurantSnapshot, TTL and size bound in application.properties (quarkus.cache.caffeine."restaurant-api-keys")
+    @Inject
+    @CacheName("restaurant-api-keys")
+    Cache restaurantCache;
+
+    @Inject
+    SyncMetrics syncMetrics;
+
+    @Resource
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    /**
+     * What sync validation needs of a restaurant and its subscription, cached per API key so the common case
+     * needs no query. A missing key is cached as well (restaurantId null).
+     */
+    private record RestaurantSnapshot(UUID restaurantId, String name, String status, String timeZone, String currencyCode,
+                                      LocalTime openingTime, LocalTime closingTime, boolean subscriptionFound,
+                                      Boolean isSubscriptionActive, LocalDateTime subscriptionExpiryDate) {
+
+        /**
+         * Detached copy of the restaurant carrying only the snapshot fields. Usable as association value and query
+         * parameter, never to be persisted or merged (lastSyncTime goes through SyncHeartbeatService).
+         */
+        Restaurant toRestaurant() {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setId(restaurantId);
+            restaurant.setName(name);
+            restaurant.setStatus(status);
+            restaurant.setTimeZone(timeZone);
+            restaurant.setCurrencyCode(currencyCode);
+            restaurant.setOpeningTime(openingTime);
+            restaurant.setClosingTime(closingTime);
+            return restaurant;
+        }
+
+        UserRestaurant toSubscription() {
+            if (!subscriptionFound) {
+                return null;
+            }
+            UserRestaurant userRestaurant = new UserRestaurant();
+            userRestaurant.setIsSubscriptionActive(isSubscriptionActive);
+            userRestaurant.setSubscriptionExpiryDate(subscriptionExpiryDate);
+            return userRestaurant;
+        }
+    }
+
     public Restaurant validateAndGetRestaurantId(String apiKey) {
+        return validate(apiKey).toRestaurant();
+    }
+
+    /**
+     * Validate API key and check subscription for user context
+     */
+    public Restaurant validateAndGetRestaurantWithSubscription(String apiKey) {
+        // First validate the API key normally
+        RestaurantSnapshot snapshot = validate(apiKey);
+
+        // Validate subscription for this user-restaurant combination, expiry is checked against now on every call
+        subscriptionService.validateSubscriptionBeforeSync(snapshot.restaurantId(), snapshot.toSubscription());
+
+        return snapshot.toRestaurant();
+    }
+
+    /**
+     * Drops the cached snapshot of the API key once the current transaction commits (immediately when there is none),
+     * so a concurrent sync cannot cache the pre-commit state again. Call whenever a restaurant or its subscription changes.
+     */
+    public void invalidate(String apiKey) {
+        if (apiKey == null) {
+            return;
+        }
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            restaurantCache.invalidate(apiKey).await().indefinitely();
+            return;
+        }
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                restaurantCache.invalidate(apiKey).await().indefinitely();
+            }
+        });
+    }
+
+    private RestaurantSnapshot validate(String apiKey) {
         if (apiKey == null || apiKey.isEmpty()) {
             log.warn("API key is missing");
             throw new IllegalArgumentException("API key is required");
         }
 
+        Timer.Sample sample = syncMetrics.start();
+        boolean valid = false;
         try {
-            Restaurant restaurant = Restaurant.<Restaurant>find("apiKey", apiKey).firstResult();
+            RestaurantSnapshot snapshot = restaurantCache.get(apiKey, this::load).await().indefinitely();
 
-            if (restaurant == null) {
+            if (snapshot.restaurantId() == null) {
                 log.warn("Invalid API key provided");
                 throw new IllegalArgumentException("Invalid API key");
             }
 
-            if (!"ACTIVE".equals(restaurant.getStatus())) {
-                log.warn("API key for inactive restaurant: {}, {}", restaurant.getId(), restaurant.getName());
+            if (!"ACTIVE".equals(snapshot.status())) {
+                log.warn("API key for inactive restaurant: {}, {}", snapshot.restaurantId(), snapshot.name());
                 throw new IllegalArgumentException("Restaurant is not active");
             }
 
-            log.info("API key validated successfully for restaurantId: {}, {}", restaurant.getId(), restaurant.getName());
-            return restaurant;
+            log.debug("API key validated successfully for restaurantId: {}, {}", snapshot.restaurantId(), snapshot.name());
+            valid = true;
+            return snapshot;
         } catch (NoResultException e) {
             log.warn("API key validation failed - key not found");
             throw new IllegalArgumentException("Invalid API key", e);
+        } finally {
+            syncMetrics.recordApiKeyValidation(sample, valid);
         }
     }
 
-    /**
-     * Validate API key and check subscription for user context
-     */
-    public Restaurant validateAndGetRestaurantWithSubscription(String apiKey) {
-        // First validate the API key normally
-        Restaurant restaurant = validateAndGetRestaurantId(apiKey);
-
-        // Validate subscription for this user-restaurant combination
-        subscriptionService.validateSubscriptionBeforeSync( restaurant.getId());
-
-        return restaurant;
+    private RestaurantSnapshot load(String apiKey) {
+        Restaurant restaurant = Restaurant.<Restaurant>find("apiKey", apiKey).firstResult();
+        if (restaurant == null) {
+            return new RestaurantSnapshot(null, null, null, null, null, null, null, false, null, null);
+        }
+        UserRestaurant subscription = subscriptionService.findSyncSubscription(restaurant.getId());
+        log.info("API key resolved for restaurantId: {}, {}", restaurant.getId(), restaurant.getName());
+        return new RestaurantSnapshot(restaurant.getId(), restaurant.getName(), restaurant.getStatus(), restaurant.getTimeZone(),
+                restaurant.getCurrencyCode(), restaurant.getOpeningTime(), restaurant.getClosingTime(), subscription != null,
+                subscription != null ? subscription.getIsSubscriptionActive() : null,
+                subscription != null ? subscription.getSubscriptionExpiryDate() : null);
     }
 }
-
@@ -0,0 +1,239 @@
+package com.posdb.sync.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.posdb.sync.dto.response.SyncError;
+import com.posdb.sync.dto.response.SyncResponse;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.SyncDeadLetter;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.SyncFailedException;
+import com.posdb.sync.metrics.SyncMetrics;
+import com.posdb.sync.repository.SyncDeadLetterRepository;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Commits single entity sync batches chunk by chunk so that one bad record no longer rolls back the whole batch.
+ */
+@ApplicationScoped
+@Slf4j
+public class ChunkedSyncService {
+
+    /**
+     * Chunk size that writes the whole batch in one transaction, for writers whose cost is per statement (COPY ingest).
+     */
+    public static final int WHOLE_BATCH = Integer.MAX_VALUE;
+
+    @ConfigProperty(name = "pos.sync.batch.size", defaultValue = "500")
+    Integer maxBatchSize;
+
+    @ConfigProperty(name = "pos.sync.chunk.size", defaultValue = "100")
+    Integer chunkSize;
+
+    @ConfigProperty(name = "pos.sync.errors.max", defaultValue = "50")
+    int maxErrors;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Inject
+    SyncWatermarkService syncWatermarkService;
+
+    @Inject
+    SyncDeadLetterRepository syncDeadLetterRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    SyncMetrics syncMetrics;
+
+    /**
+     * Sync flow of the single entity endpoints: replays a stored response for a retried batch, otherwise writes the
+     * records with {@link #syncInChunks} and then records a sync heartbeat. The response is stored for replay only
+     * when no record failed, so a retry still gets a chance at the dead-lettered records.
+     */
+    public <D> SyncResponse syncBatch(Restaurant restaurant, SyncEntityType entityType, Object request, HttpHeaders headers,
+                                      List<D> records, BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        return syncBatch(restaurant, entityType, request, headers, records, chunkSize, writer);
+    }
+
+    /**
+     * {@link #syncBatch(Restaurant, SyncEntityType, Object, HttpHeaders, List, BiFunction)} with the writer's own
+     * chunk size instead of {@code pos.sync.chunk.size}.
+     */
+    public <D> SyncResponse syncBatch(Restaurant restaurant, SyncEntityType entityType, Object request, HttpHeaders headers,
+                                      List<D> records, int recordsPerChunk, BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        UUID restaurantId = restaurant.getId();
+        String idempotencyKey = idempotencyService.resolveKey(request, headers);
+        Optional<SyncResponse> storedResponse = QuarkusTransaction.requiringNew()
+                .call(() -> idempotencyService.findResponse(restaurant, entityType, idempotencyKey, SyncResponse.class));
+        if (storedResponse.isPresent()) {
+            return storedResponse.get();
+        }
+
+        SyncResponse response = syncInChunks(restaurantId, entityType, records, recordsPerChunk, writer);
+
+        if (response.getFailedRecords() < records.size()) {
+            syncHeartbeatService.record(restaurantId);
+        }
+        if (response.getFailedRecords() == 0) {
+            QuarkusTransaction.requiringNew()
+                    .run(() -> idempotencyService.storeResponse(restaurant, entityType, idempotencyKey, response));
+        }
+        log.info("ChunkedSyncService:: {} sync finished for restaurantId: {} - Success: {}, Skipped: {}, Failed: {}",
+                entityType, restaurant.getName(), response.getSuccessRecords(), response.getSkippedRecords(), response.getFailedRecords());
+        return response;
+    }
+
+    /**
+     * Writes the records in chunks of {@code pos.sync.chunk.size}, each chunk in its own transaction through the
+     * entity's inner sync method. When a chunk fails its records are retried one by one, records that still fail
+     * are stored in sync_dead_letter with their payload and error while the rest of the batch is kept.
+     * The watermark is raised once for the batch, and only up to below its lowest dead-lettered key.
+     */
+    public <D> SyncResponse syncInChunks(UUID restaurantId, SyncEntityType entityType, List<D> records,
+                                         BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        return syncInChunks(restaurantId, entityType, records, chunkSize, writer);
+    }
+
+    /**
+     * {@link #syncInChunks(UUID, SyncEntityType, List, BiFunction)} in chunks of {@code recordsPerChunk} records,
+     * e.g. {@link #WHOLE_BATCH}.
+     */
+    public <D> SyncResponse syncInChunks(UUID restaurantId, SyncEntityType entityType, List<D> records, int recordsPerChunk,
+                                         BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        if (records == null || records.isEmpty()) {
+            log.warn("ChunkedSyncService:: Empty {} list in sync request for restaurantId: {}", entityType, restaurantId);
+            throw new AppException(entityType + " list is required", Response.Status.BAD_REQUEST);
+        }
+        if (records.size() > maxBatchSize) {
+            log.warn("ChunkedSyncService:: {} batch size {} exceeds maximum {} for restaurantId: {}",
+                    entityType, records.size(), maxBatchSize, restaurantId);
+            throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
+        }
+
+        Timer.Sample sample = syncMetrics.start();
+        int successCount = 0;
+        int skippedCount = 0;
+        int failCount = 0;
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+        List<D> failed = new ArrayList<>();
+
+        for (int from = 0, to; from < records.size(); from = to) {
+            to = (int) Math.min((long) from + recordsPerChunk, records.size());
+            List<D> chunk = records.subList(from, to);
+            try {
+                SyncResponse chunkResponse = writeChunk(restaurantId, entityType, chunk, writer);
+                successCount += chunkResponse.getSuccessRecords();
+                skippedCount += chunkResponse.getSkippedRecords();
+                continue;
+            } catch (Exception e) {
+                log.warn("ChunkedSyncService:: {} chunk starting at recordIndex {} failed for restaurantId: {}, retrying its {} records one by one",
+                        entityType, from + 1, restaurantId, chunk.size());
+            }
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int recordIndex = from + i + 1;
+                D data = chunk.get(i);
+                try {
+                    SyncResponse recordResponse = writeChunk(restaurantId, entityType, Collections.singletonList(data), writer);
+                    successCount += recordResponse.getSuccessRecords();
+                    skippedCount += recordResponse.getSkippedRecords();
+                } catch (Exception e) {
+                    failCount++;
+                    failed.add(data);
+                    SyncError error = recordError(e);
+                    Long deadLetterId = deadLetter(restaurantId, entityType, recordIndex, data, error.getMessage());
+                    error.setIndex(recordIndex);
+                    error.setDeadLetterId(deadLetterId);
+                    errors.add(error);
+                    log.error("ChunkedSyncService:: {} record dead-lettered. recordIndex: {}, deadLetterId: {}, restaurantId: {}",
+                            entityType, recordIndex, deadLetterId, restaurantId);
+                }
+            }
+        }
+        if (failed.size() < records.size()) {
+            advanceWatermark(restaurantId, entityType, records, failed);
+        }
+        SyncResponse response = new SyncResponse(records.size(), successCount, failCount, skippedCount, errors.getErrors(), errors.isTruncated());
+        syncMetrics.recordBatch(sample, entityType.name(), restaurantId, records.size(), response);
+        return response;
+    }
+
+    private <D> SyncResponse writeChunk(UUID restaurantId, SyncEntityType entityType, List<D> chunk,
+                                        BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        Timer.Sample sample = syncMetrics.start();
+        try {
+            return QuarkusTransaction.requiringNew().call(() -> writer.apply(Restaurant.findById(restaurantId), chunk));
+        } finally {
+            syncMetrics.recordDb(sample, entityType.name(), restaurantId);
+        }
+    }
+
+    private <D> void advanceWatermark(UUID restaurantId, SyncEntityType entityType, List<D> records, List<D> failed) {
+        Set<D> failedRecords = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedRecords.addAll(failed);
+        List<D> committed = records.stream().filter(data -> !failedRecords.contains(data)).toList();
+        try {
+            QuarkusTransaction.requiringNew().run(() -> syncWatermarkService.advance(restaurantId, entityType, committed, failed));
+        } catch (Exception e) {
+            // the records are committed, the watermark catches up with the next batch
+            log.error("ChunkedSyncService:: Error advancing {} watermark for restaurantId: {}", entityType, restaurantId, e);
+        }
+    }
+
+    private Long deadLetter(UUID restaurantId, SyncEntityType entityType, int recordIndex, Object data, String error) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(data);
+        } catch (Exception e) {
+            payload = String.valueOf(data);
+        }
+        String recordPayload = payload;
+        return QuarkusTransaction.requiringNew().call(() -> {
+            SyncDeadLetter deadLetter = new SyncDeadLetter();
+            deadLetter.setRestaurant(Restaurant.findById(restaurantId));
+            deadLetter.setEntityType(entityType);
+            deadLetter.setRecordIndex(recordIndex);
+            deadLetter.setPayload(recordPayload);
+            deadLetter.setErrorMessage(error);
+            syncDeadLetterRepository.persist(deadLetter);
+            return deadLetter.getId();
+        });
+    }
+
+    /**
+     * Error of a single record write: the record's own error reported by the inner sync method, otherwise derived
+     * from the exception (e.g. a constraint violation on flush).
+     */
+    private static SyncError recordError(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SyncFailedException failed && !failed.getResponse().getErrors().isEmpty()) {
+                return failed.getResponse().getErrors().get(0);
+            }
+            cause = cause.getCause();
+        }
+        return new SyncError(null, null, SyncErrorCollector.code(e), SyncErrorCollector.message(e), null);
+    }
+}
@@ -0,0 +1,232 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.repository.DailySalesRollupRepository;
+import com.posdb.sync.repository.dto.DailySalesRollupDto;
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains daily_sales_rollup, the dashboard figures per business date and order type. Sync batches recompute the
+ * business dates of the orders they touched in their own transaction, so the dashboard reads a few rows instead of
+ * aggregating the raw order tables on every load.
+ */
+@ApplicationScoped
+@Slf4j
+public class DailySalesRollupService {
+
+    // business dates recomputed per transaction by a rebuild
+    private static final int REBUILD_DAYS_PER_TRANSACTION = 31;
+
+    @Inject
+    DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Inject
+    DashboardCacheService dashboardCacheService;
+
+    @Inject
+    DeferredRollupRefresh deferredRefresh;
+
+    /**
+     * Current order times and business dates of the records' orders. Order headers call it before writing, so an
+     * order moved to another date also refreshes the date it left.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <D> List<OrderBusinessDateDto> orderDates(Restaurant restaurant, List<D> records, Function<D, Integer> orderId) {
+        if (!hasBusinessHours(restaurant)) {
+            return List.of();
+        }
+        Set<Integer> orderIds = records.stream().map(orderId).filter(Objects::nonNull).collect(Collectors.toSet());
+        return dailySalesRollupRepository.findOrderDates(restaurant, orderIds);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <D> void refresh(Restaurant restaurant, List<D> records, Function<D, Integer> orderId) {
+        refresh(restaurant, records, orderId, List.of());
+    }
+
+    /**
+     * Recomputes the rollup of the business dates of the records' orders plus {@code previous}, in the caller's
+     * transaction, and drops the cached dashboard views of those orders after commit. Refreshes of the same business
+     * date are serialized with transaction scoped advisory locks, so each one sees the rows committed by the batch
+     * before it, while batches of other dates of the restaurant proceed in parallel.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <D> void refresh(Restaurant restaurant, List<D> records, Function<D, Integer> orderId, List<OrderBusinessDateDto> previous) {
+        if (!hasBusinessHours(restaurant)) {
+            log.debug("DailySalesRollupService:: No business hours for restaurant: {}, rollup not refreshed", restaurant.getName());
+            return;
+        }
+        List<OrderBusinessDateDto> touched = new ArrayList<>(previous);
+        touched.addAll(orderDates(restaurant, records, orderId));
+        refreshDates(restaurant, touched);
+    }
+
+    /**
+     * Same as {@link #refresh(Restaurant, List, Function)} for the orders charged on account to the customers, whose
+     * names decide which orders count as inhouse.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void refreshCustomers(Restaurant restaurant, Collection<Integer> customerIds) {
+        if (!hasBusinessHours(restaurant)) {
+            return;
+        }
+        refreshDates(restaurant, dailySalesRollupRepository.findCustomerOrderDates(restaurant, customerIds));
+    }
+
+    /**
+     * Holds back the refreshes of the rest of the transaction until {@link #refreshDeferred(Restaurant)}. A transaction
+     * that writes several entity lists locks the business dates of all of them once, in date order: locking the dates
+     * of each list in turn could wait on a date held by another batch that waits on a date already locked here.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void deferRefreshes() {
+        deferredRefresh.start();
+    }
+
+    /**
+     * Recomputes the business dates of every refresh held back since {@link #deferRefreshes()} in one go.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void refreshDeferred(Restaurant restaurant) {
+        List<OrderBusinessDateDto> touched = deferredRefresh.finish();
+        if (!touched.isEmpty()) {
+            refreshDates(restaurant, touched);
+        }
+    }
+
+    private void refreshDates(Restaurant restaurant, List<OrderBusinessDateDto> touched) {
+        if (deferredRefresh.isActive()) {
+            deferredRefresh.add(touched);
+            return;
+        }
+        dashboardCacheService.invalidate(restaurant.getId(), touched.stream().map(OrderBusinessDateDto::getOrderDateTime).toList());
+
+        TreeSet<LocalDate> dates = touched.stream()
+                .map(OrderBusinessDateDto::getBusinessDate)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (dates.isEmpty()) {
+            return;
+        }
+        dailySalesRollupRepository.lockBusinessDates(restaurant.getId(), dates);
+        int rows = dailySalesRollupRepository.recompute(restaurant, dates);
+        log.debug("DailySalesRollupService:: Rollup refreshed for restaurant: {}, dates: {}, rows: {}", restaurant.getName(), dates, rows);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public List<DailySalesRollupDto> getRollup(UUID restaurantId, LocalDate businessDate) {
+        return dailySalesRollupRepository.findByBusinessDate(restaurantId, businessDate);
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public Map<UUID, List<DailySalesRollupDto>> getRollups(Collection<UUID> restaurantIds, LocalDate businessDate) {
+        return dailySalesRollupRepository.findByBusinessDate(restaurantIds, businessDate);
+    }
+
+    /**
+     * Recomputes the rollup of a restaurant for the business dates {@code from} to {@code to}, by default its whole
+     * order history. Repairs the rollup after business hours or time zone changed, or rows were changed outside
+     * the sync endpoints. Runs {@value #REBUILD_DAYS_PER_TRANSACTION} dates per transaction. A rebuild of the whole
+     * history marks the restaurant as backfilled, see {@link #backfill()}.
+     *
+     * @return number of rollup rows written
+     */
+    public int rebuild(String restaurantId, LocalDate from, LocalDate to) {
+        try {
+            log.info("DailySalesRollupService:: Rebuilding daily sales rollup for restaurantId: {} from {} to {}", restaurantId, from, to);
+            UUID restId = UUID.fromString(restaurantId);
+            LocalDate[] range = QuarkusTransaction.requiringNew().call(() -> {
+                Restaurant restaurant = Restaurant.findById(restId);
+                if (restaurant == null) {
+                    log.warn("DailySalesRollupService:: Restaurant not found: {}", restaurantId);
+                    throw new AppException("Restaurant not found.", Response.Status.BAD_REQUEST);
+                }
+                if (!hasBusinessHours(restaurant)) {
+                    throw new AppException("Restaurant has no opening and closing time.", Response.Status.BAD_REQUEST);
+                }
+                return from != null && to != null ? new LocalDate[]{from, to} : dailySalesRollupRepository.findOrderDateRange(restaurant);
+            });
+            if (range == null) {
+                log.info("DailySalesRollupService:: No orders to roll up for restaurantId: {}", restaurantId);
+                QuarkusTransaction.requiringNew().run(() -> dailySalesRollupRepository.markRebuilt(restId));
+                return 0;
+            }
+            if (range[0].isAfter(range[1])) {
+                throw new AppException("from must not be after to.", Response.Status.BAD_REQUEST);
+            }
+
+            int rows = 0;
+            for (LocalDate chunkStart = range[0]; !chunkStart.isAfter(range[1]); chunkStart = chunkStart.plusDays(REBUILD_DAYS_PER_TRANSACTION)) {
+                TreeSet<LocalDate> dates = chunkStart.datesUntil(min(chunkStart.plusDays(REBUILD_DAYS_PER_TRANSACTION), range[1].plusDays(1)))
+                        .collect(Collectors.toCollection(TreeSet::new));
+                rows += QuarkusTransaction.requiringNew().call(() -> {
+                    Restaurant restaurant = Restaurant.findById(restId);
+                    dailySalesRollupRepository.lockBusinessDates(restId, dates);
+                    return dailySalesRollupRepository.recompute(restaurant, dates);
+                });
+            }
+            if (from == null || to == null) {
+                QuarkusTransaction.requiringNew().run(() -> dailySalesRollupRepository.markRebuilt(restId));
+            }
+            dashboardCacheService.invalidateRestaurant(restId);
+            log.info("DailySalesRollupService:: Daily sales rollup rebuilt for restaurantId: {} from {} to {}, rows: {}",
+                    restaurantId, range[0], range[1], rows);
+            return rows;
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            throw new AppException("Invalid restaurant id.", Response.Status.BAD_REQUEST);
+        } catch (Exception e) {
+            log.error("DailySalesRollupService:: Error rebuilding daily sales rollup for restaurantId: {}", restaurantId, e);
+            throw new AppException("Failed to rebuild daily sales rollup.", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Rebuilds the whole rollup of every restaurant with business hours that was never rebuilt: restaurants whose
+     * orders were synced before daily_sales_rollup existed, and new restaurants, for which it finds nothing to do.
+     * A restaurant whose rebuild fails is tried again on the next run.
+     *
+     * @return number of restaurants rebuilt
+     */
+    public int backfill() {
+        List<UUID> restaurantIds = QuarkusTransaction.requiringNew().call(dailySalesRollupRepository::findRestaurantsToBackfill);
+        int rebuilt = 0;
+        for (UUID restaurantId : restaurantIds) {
+            try {
+                rebuild(restaurantId.toString(), null, null);
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("DailySalesRollupService:: Error backfilling daily sales rollup for restaurantId: {}", restaurantId, e);
+            }
+        }
+        return rebuilt;
+    }
+
+    private static boolean hasBusinessHours(Restaurant restaurant) {
+        return restaurant.getOpeningTime() != null && restaurant.getClosingTime() != null;
+    }
+
+    private static LocalDate min(LocalDate first, LocalDate second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
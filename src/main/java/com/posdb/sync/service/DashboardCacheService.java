@@ -0,0 +1,131 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.repository.DailySalesRollupRepository;
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.Transactional;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of the computed dashboard views, keyed by restaurant, view and business window. Concurrent requests for a
+ * missing entry wait for the one computation in flight. Syncs drop the entries whose window contains an order they
+ * touched once their transaction completes; syncs of customer files drop the entries of the orders charged to those
+ * customers. Syncs of menu items, which change how every order is reported, drop all entries of the restaurant.
+ */
+@ApplicationScoped
+@Slf4j
+public class DashboardCacheService {
+
+    public static final String DAILY = "daily";
+    public static final String DAILY_DETAILED = "daily-detailed";
+    public static final String MONTHLY = "monthly";
+    public static final String DAILY_CHART = "daily-chart";
+
+    @Inject
+    @CacheName("dashboard")
+    Cache dashboardCache;
+
+    @Inject
+    DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Resource
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    /**
+     * Window start and end are inclusive, same as the dashboard queries.
+     */
+    record Key(UUID restaurantId, String view, OffsetDateTime start, OffsetDateTime end) {
+
+        boolean contains(OffsetDateTime time) {
+            return !time.isBefore(start) && !time.isAfter(end);
+        }
+    }
+
+    /**
+     * Cached view of the restaurant for the window, computed by {@code loader} in the caller's thread on a miss.
+     * The returned value is shared between requests and must not be modified.
+     */
+    public <T> T get(UUID restaurantId, String view, OffsetDateTime start, OffsetDateTime end, Supplier<T> loader) {
+        return dashboardCache.get(new Key(restaurantId, view, start, end), key -> loader.get()).await().indefinitely();
+    }
+
+    /**
+     * Drops the cached views whose window contains one of the order times once the current transaction completes.
+     */
+    public void invalidate(UUID restaurantId, Collection<OffsetDateTime> orderTimes) {
+        if (orderTimes.isEmpty()) {
+            return;
+        }
+        Set<OffsetDateTime> times = Set.copyOf(orderTimes);
+        afterCompletion(key -> key.restaurantId().equals(restaurantId) && times.stream().anyMatch(key::contains));
+    }
+
+    /**
+     * Drops the cached views that contain the orders of the records, looked up by order id. Restaurants without
+     * business hours have no dashboard and are skipped.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <D> void invalidateOrders(Restaurant restaurant, List<D> records, Function<D, Integer> orderId) {
+        if (restaurant.getOpeningTime() == null || restaurant.getClosingTime() == null) {
+            return;
+        }
+        Set<Integer> orderIds = records.stream().map(orderId).filter(Objects::nonNull).collect(Collectors.toSet());
+        invalidate(restaurant.getId(), dailySalesRollupRepository.findOrderDates(restaurant, orderIds).stream()
+                .map(OrderBusinessDateDto::getOrderDateTime)
+                .toList());
+    }
+
+    /**
+     * Drops all cached views of the restaurant once the current transaction completes.
+     */
+    public void invalidateRestaurant(UUID restaurantId) {
+        afterCompletion(key -> key.restaurantId().equals(restaurantId));
+    }
+
+    // After commit or rollback, immediately when there is no transaction. Also discards loads still in flight, so a
+    // request that read the data before the commit cannot cache it afterwards.
+    private void afterCompletion(Predicate<Key> predicate) {
+        if (transactionSynchronizationRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            invalidateIf(predicate);
+            return;
+        }
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                invalidateIf(predicate);
+            }
+        });
+    }
+
+    private void invalidateIf(Predicate<Key> predicate) {
+        try {
+            dashboardCache.invalidateIf(key -> key instanceof Key cacheKey && predicate.test(cacheKey)).await().indefinitely();
+        } catch (Exception e) {
+            // entries still expire after quarkus.cache.caffeine."dashboard".expire-after-write
+            log.error("DashboardCacheService:: Error invalidating dashboard cache", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.TooManyRequestsException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent read queries of a dashboard view at the same time, so the view takes about as long as its
+ * slowest query. Every query runs on one of {@code pos.dashboard.query-threads} threads in its own read-only
+ * transaction, and so on its own connection, with {@code pos.dashboard.query-timeout} as statement timeout.
+ * Keep the thread count well below quarkus.datasource.jdbc.max-size: the requesting thread holds a connection too.
+ * <p>
+ * The queries of a view are submitted to one {@link QueryGroup}: the first query that fails or times out cancels the
+ * others, as the view cannot be built without it. At most {@code pos.dashboard.query-queue} queries wait for a
+ * thread; a view that does not fit is rejected at once with 429 and Retry-After instead of queueing behind the
+ * others until it times out.
+ */
+@ApplicationScoped
+@Slf4j
+public class DashboardQueryExecutor {
+
+    @ConfigProperty(name = "pos.dashboard.query-threads", defaultValue = "6")
+    int threadCount;
+
+    @ConfigProperty(name = "pos.dashboard.query-queue", defaultValue = "24")
+    int queueCapacity;
+
+    @ConfigProperty(name = "pos.dashboard.query-timeout", defaultValue = "10s")
+    Duration queryTimeout;
+
+    @ConfigProperty(name = "pos.dashboard.retry-after", defaultValue = "5s")
+    Duration retryAfter;
+
+    @Inject
+    EntityManager entityManager;
+
+    ThreadPoolExecutor executor;
+
+    /**
+     * The queries of one view. Closing the group cancels the queries still running, so a view that fails for any
+     * other reason does not leave them holding connections.
+     */
+    public final class QueryGroup implements AutoCloseable {
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private QueryGroup() {
+        }
+
+        public <T> Query<T> submit(String name, Supplier<T> query) {
+            try {
+                Future<T> future = executor.submit(readOnly(query));
+                futures.add(future);
+                return new Query<>(this, name, future);
+            } catch (RejectedExecutionException e) {
+                cancel();
+                log.warn("DashboardQueryExecutor:: Dashboard query {} rejected, {} queries already waiting", name, executor.getQueue().size());
+                throw new TooManyRequestsException("Dashboard is busy. Please retry later.", retryAfter.toSeconds());
+            }
+        }
+
+        void cancel() {
+            boolean cancelled = false;
+            for (Future<?> future : futures) {
+                cancelled |= future.cancel(true);
+            }
+            if (cancelled) {
+                // cancelled queries still waiting for a thread would hold their place in the queue
+                executor.purge();
+            }
+        }
+
+        @Override
+        public void close() {
+            cancel();
+        }
+    }
+
+    /**
+     * A submitted query, {@link #get()} waits for its result at most the query timeout counted from submission.
+     */
+    public final class Query<T> {
+        private final QueryGroup group;
+        private final String name;
+        private final Future<T> future;
+        private final long deadline;
+
+        private Query(QueryGroup group, String name, Future<T> future) {
+            this.group = group;
+            this.name = name;
+            this.future = future;
+            this.deadline = System.nanoTime() + queryTimeout.toNanos();
+        }
+
+        public T get() {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                group.cancel();
+                log.warn("DashboardQueryExecutor:: Dashboard query {} timed out after {}", name, queryTimeout);
+                throw new AppException("Dashboard data took too long to load. Please retry.", Response.Status.GATEWAY_TIMEOUT);
+            } catch (InterruptedException e) {
+                group.cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for dashboard query " + name, e);
+            } catch (ExecutionException e) {
+                group.cancel();
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException("Dashboard query " + name + " failed", e.getCause());
+            }
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        start();
+        log.info("DashboardQueryExecutor:: Started with {} threads, {} queued queries, query timeout {}",
+                threadCount, queueCapacity, queryTimeout);
+    }
+
+    void start() {
+        executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        executor.shutdownNow();
+    }
+
+    public QueryGroup group() {
+        return new QueryGroup();
+    }
+
+    <T> Callable<T> readOnly(Supplier<T> query) {
+        return () -> QuarkusTransaction.requiringNew().call(() -> {
+            entityManager.createNativeQuery("SET TRANSACTION READ ONLY").executeUpdate();
+            entityManager.createNativeQuery("SET LOCAL statement_timeout = " + queryTimeout.toMillis()).executeUpdate();
+            return query.get();
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.posdb.sync.service;
 import com.posdb.sync.dto.response.*;
 import com.posdb.sync.entity.Restaurant;
 import com.posdb.sync.entity.User;
+import com.posdb.sync.entity.UserRestaurant;
 import com.posdb.sync.entity.enums.OrderTypeEnum;
 import com.posdb.sync.exception.AppException;
 import com.posdb.sync.repository.DashboardRepository;
@@ -23,6 +24,7 @@ import java.time.OffsetDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @ApplicationScoped
@@ -41,6 +43,18 @@ public class DashboardService {
     @Inject
     SubscriptionService subscriptionService;
 
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
+    @Inject
+    DashboardCacheService dashboardCacheService;
+
+    @Inject
+    DashboardQueryExecutor dashboardQueryExecutor;
+
     @Transactional
     public DashboardResponse getDashboardDataByDate(String restaurantId, LocalDate selectedDate) {
         try {
@@ -48,6 +62,10 @@ public class DashboardService {
             log.info("Dashboard data report requested for user: {} for date {}", userEmail, selectedDate);
             User user = findUserInfo(userEmail, "User not found for Get DashboardData request : {} .");
 
+            if ("ALL".equalsIgnoreCase(restaurantId)) {
+                return getAllRestaurantsDashboardData(user, selectedDate);
+            }
+
             DashboardResponse response = new DashboardResponse();
 
             Restaurant selectedRestaurant = extractSelectedRestaurant(restaurantId, userEmail, user, response);
@@ -64,69 +82,11 @@ public class DashboardService {
                     selectedRestaurant.getOpeningTime(), selectedRestaurant.getClosingTime(), selectedDate, selectedRestaurant.getTimeZone());
 
 
-            List<DailyRevenueBreakdownDto> dashboardData = dashboardRepository.getDailyRevenueBreakdown(restaurantUuid, businessWindow.start(), businessWindow.end());
-            response.setDayTitle(selectedDate.toString());
-            response.setDayOfWeek(selectedDate.getDayOfWeek().name());
-            response.setStartDateTime(businessWindow.start().toString());
-            response.setEndDateTime(businessWindow.end().toString());
-
-            // Get totals from the last row (where order_type is null - ROLLUP total row)
-            DailyRevenueBreakdownDto totalRow = dashboardData.stream()
-                    .filter(d -> d.getOrderType() == null)
-                    .findFirst()
-                    .orElse(null);
-
-            if (totalRow != null) {
-                response.setTotalOrders(totalRow.getTotalOrders() != null ? totalRow.getTotalOrders().intValue() : 0);
-                response.setNumberOfGuests(totalRow.getTotalGuests() != null ? totalRow.getTotalGuests().intValue() : 0);
-                response.setTotalRevenue(totalRow.getAmoountDue() != null ? totalRow.getAmoountDue().doubleValue() : 0);
-                response.setTotalDiscounts(totalRow.getTotalDiscounts() != null ? totalRow.getTotalDiscounts().doubleValue() : 0);
-            }
-
-            // Build order type breakdown (exclude the null order_type row which is the grand total)
-            List<OrderTypeInfo> orderTypeInfoList = getOrderTypeInfos(dashboardData);
-            response.setOrderTypeInfoList(orderTypeInfoList);
-
-            // Fetch void order metrics
-            List<VoidOrderMetricsDto> voidMetrics = dashboardRepository.getVoidOrderMetrics(restaurantUuid, businessWindow.start(), businessWindow.end());
-            log.info("Void order metrics fetched for restaurantId: {} for date: {} with {} void orders", restaurantId, selectedDate, voidMetrics.size());
-            if (!voidMetrics.isEmpty()) {
-                response.setVoidOrderCount(voidMetrics.size());
-                response.setTotalVoidAmount(voidMetrics.stream()
-                        .map(VoidOrderMetricsDto::getTotalVoidAmount)
-                        .filter(Objects::nonNull)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
-            } else {
-                response.setVoidOrderCount(0);
-                response.setTotalVoidAmount(java.math.BigDecimal.ZERO);
-            }
-            // Fetch inhouse order metrics
-            InhouseOrderMetricsDto inhouseMetrics = dashboardRepository.getInhouseOrderMetrics(restaurantUuid, businessWindow.start(), businessWindow.end());
-            log.info("Inhouse order metrics fetched for restaurantId: {} for date: {} with {} inhouse orders", restaurantId, selectedDate, inhouseMetrics != null ? inhouseMetrics.getInhouseOrderCount() : 0);
-            if (inhouseMetrics != null) {
-                response.setOnlineOrderCount(inhouseMetrics.getInhouseOrderCount() != null ? inhouseMetrics.getInhouseOrderCount().intValue() : 0);
-                response.setTotalOnlineOrderAmount(inhouseMetrics.getTotalInhouseAmount() != null ? inhouseMetrics.getTotalInhouseAmount() : java.math.BigDecimal.ZERO);
-            } else {
-                response.setOnlineOrderCount(0);
-                response.setTotalOnlineOrderAmount(java.math.BigDecimal.ZERO);
-            }
-
-
-
-            if(response.getOnlineOrderCount() > 0){
-                log.info("Adding online orders to dashboard totals for restaurantId: {} for date: {} current orders {} with {} online orders", restaurantId, selectedDate,response.getTotalOrders(), response.getOnlineOrderCount());
-//                response.setTotalOrders(response.getOnlineOrderCount() + response.getTotalOrders());
-            }
-            if(response.getTotalOnlineOrderAmount() != null && response.getTotalOnlineOrderAmount().compareTo(BigDecimal.ZERO) > 0){
-                log.info("Adding online order revenue to dashboard totals for restaurantId: {} for date: {} current revenue {} with online order revenue {}", restaurantId, selectedDate,response.getTotalRevenue(), response.getTotalOnlineOrderAmount());
-//                response.setTotalRevenue(response.getTotalOnlineOrderAmount().doubleValue() + response.getTotalRevenue());
-            }
-            response.setAverageOrderValue(response.getTotalOrders() == 0 ? 0 : response.getTotalRevenue() / response.getTotalOrders());
-
-            if(response.getOnlineOrderCount() > 0){
-                response.getOrderTypeInfoList().add(
-                        new OrderTypeInfo(OrderTypeEnum.ONLINE_ORDER, response.getOnlineOrderCount(), response.getTotalOnlineOrderAmount() != null ? response.getTotalOnlineOrderAmount().doubleValue() : 0));
-            }
+            // Figures of the business date, cached until a sync touches an order of its window
+            DashboardResponse dayData = dashboardCacheService.get(restaurantUuid, DashboardCacheService.DAILY,
+                    businessWindow.start(), businessWindow.end(),
+                    () -> getDayData(restaurantId, selectedDate, businessWindow, dailySalesRollupService.getRollup(restaurantUuid, selectedDate)));
+            response = dayData.toBuilder().restaurantInfo(response.getRestaurantInfo()).build();
 
 //            setRestaurantListInfo(user, response); // not needed, extra db call
             log.info("Daily orders report generated successfully for restaurantId: {} for date: {} with {} orders .",
@@ -142,16 +102,137 @@ public class DashboardService {
         }
     }
 
-    private List<OrderTypeInfo> getOrderTypeInfos(List<DailyRevenueBreakdownDto> dashboardData) {
+    /**
+     * Day figures from the rollup rows of the business date, maintained by the sync services in daily_sales_rollup.
+     */
+    private DashboardResponse getDayData(String restaurantId, LocalDate selectedDate, BusinessWindowUtil.BusinessWindow businessWindow,
+                                         List<DailySalesRollupDto> rollup) {
+        DashboardResponse response = new DashboardResponse();
+
+        response.setDayTitle(selectedDate.toString());
+        response.setDayOfWeek(selectedDate.getDayOfWeek().name());
+        response.setStartDateTime(businessWindow.start().toString());
+        response.setEndDateTime(businessWindow.end().toString());
+
+        response.setTotalOrders((int) rollup.stream().mapToLong(DailySalesRollupDto::getOrderCount).sum());
+        response.setNumberOfGuests((int) rollup.stream().mapToLong(DailySalesRollupDto::getGuestCount).sum());
+        response.setTotalRevenue(sum(rollup, DailySalesRollupDto::getAmountDue).doubleValue());
+        response.setTotalDiscounts(sum(rollup, DailySalesRollupDto::getDiscountAmount).doubleValue());
+
+        // Build order type breakdown (orders without order type only count towards the totals)
+        List<OrderTypeInfo> orderTypeInfoList = getOrderTypeInfos(rollup);
+        response.setOrderTypeInfoList(orderTypeInfoList);
+
+        response.setVoidOrderCount((int) rollup.stream().mapToLong(DailySalesRollupDto::getVoidOrderCount).sum());
+        response.setTotalVoidAmount(sum(rollup, DailySalesRollupDto::getVoidAmount));
+        response.setOnlineOrderCount((int) rollup.stream().mapToLong(DailySalesRollupDto::getInhouseOrderCount).sum());
+        response.setTotalOnlineOrderAmount(sum(rollup, DailySalesRollupDto::getInhouseAmount));
+        log.info("Rollup fetched for restaurantId: {} for date: {} with {} void orders, {} inhouse orders", restaurantId, selectedDate,
+                response.getVoidOrderCount(), response.getOnlineOrderCount());
+
+        if(response.getOnlineOrderCount() > 0){
+            log.info("Adding online orders to dashboard totals for restaurantId: {} for date: {} current orders {} with {} online orders", restaurantId, selectedDate,response.getTotalOrders(), response.getOnlineOrderCount());
+//            response.setTotalOrders(response.getOnlineOrderCount() + response.getTotalOrders());
+        }
+        if(response.getTotalOnlineOrderAmount() != null && response.getTotalOnlineOrderAmount().compareTo(BigDecimal.ZERO) > 0){
+            log.info("Adding online order revenue to dashboard totals for restaurantId: {} for date: {} current revenue {} with online order revenue {}", restaurantId, selectedDate,response.getTotalRevenue(), response.getTotalOnlineOrderAmount());
+//            response.setTotalRevenue(response.getTotalOnlineOrderAmount().doubleValue() + response.getTotalRevenue());
+        }
+        response.setAverageOrderValue(response.getTotalOrders() == 0 ? 0 : response.getTotalRevenue() / response.getTotalOrders());
+
+        if(response.getOnlineOrderCount() > 0){
+            response.getOrderTypeInfoList().add(
+                    new OrderTypeInfo(OrderTypeEnum.ONLINE_ORDER, response.getOnlineOrderCount(), response.getTotalOnlineOrderAmount() != null ? response.getTotalOnlineOrderAmount().doubleValue() : 0));
+        }
+        return response;
+    }
+
+    /**
+     * Day view across all restaurants of the user with a currently valid subscription: the rollup rows of every
+     * restaurant come from one query, each restaurant's figures are those of its own business date window, and the
+     * top level holds the combined totals. Restaurants without business hours are left out.
+     */
+    private DashboardResponse getAllRestaurantsDashboardData(User user, LocalDate selectedDate) {
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (UserRestaurant userRestaurant : subscriptionService.getUserSubscribedRestaurants(user.getId())) {
+            Restaurant restaurant = userRestaurant.getRestaurant();
+            if (restaurant.getOpeningTime() == null || restaurant.getClosingTime() == null) {
+                log.warn("No business hours for restaurant: {}, left out of the ALL dashboard", restaurant.getId());
+                continue;
+            }
+            restaurants.add(restaurant);
+        }
+        if (restaurants.isEmpty()) {
+            log.warn("No subscribed restaurant for ALL DashboardData request for user: {} .", user.getEmail());
+            throw new AppException("No restaurant with an active subscription associated with user", Response.Status.PAYMENT_REQUIRED);
+        }
+        if (restaurants.stream().map(Restaurant::getCurrencyCode).filter(Objects::nonNull).distinct().count() > 1) {
+            log.warn("Restaurants of user: {} use different currencies, combined amounts mix them", user.getEmail());
+        }
+
+        Map<UUID, List<DailySalesRollupDto>> rollups = dailySalesRollupService.getRollups(
+                restaurants.stream().map(Restaurant::getId).toList(), selectedDate);
+
+        List<DashboardResponse> restaurantDashboards = new ArrayList<>();
+        List<DailySalesRollupDto> allRows = new ArrayList<>();
+        OffsetDateTime start = null;
+        OffsetDateTime end = null;
+        for (Restaurant restaurant : restaurants) {
+            BusinessWindowUtil.BusinessWindow businessWindow = BusinessWindowUtil.getBusinessWindow(
+                    restaurant.getOpeningTime(), restaurant.getClosingTime(), selectedDate, restaurant.getTimeZone());
+            List<DailySalesRollupDto> rollup = rollups.getOrDefault(restaurant.getId(), List.of());
+
+            DashboardResponse dashboard = getDayData(restaurant.getId().toString(), selectedDate, businessWindow, rollup);
+            dashboard.setRestaurantInfo(toRestaurantInfo(restaurant));
+            restaurantDashboards.add(dashboard);
+
+            allRows.addAll(rollup);
+            start = start == null || businessWindow.start().isBefore(start) ? businessWindow.start() : start;
+            end = end == null || businessWindow.end().isAfter(end) ? businessWindow.end() : end;
+        }
+
+        // combined totals span from the earliest opening to the latest closing of the restaurants
+        DashboardResponse response = getDayData("ALL", selectedDate, new BusinessWindowUtil.BusinessWindow(start, end),
+                mergeByOrderType(allRows));
+        response.setAssociatedRestaurants(restaurantDashboards.stream().map(DashboardResponse::getRestaurantInfo).toList());
+        response.setRestaurantDashboards(restaurantDashboards);
+        log.info("ALL dashboard generated for user: {} for date: {} with {} restaurants and {} orders",
+                user.getEmail(), selectedDate, restaurantDashboards.size(), response.getTotalOrders());
+        return response;
+    }
+
+    static List<DailySalesRollupDto> mergeByOrderType(List<DailySalesRollupDto> rollup) {
+        Map<String, DailySalesRollupDto> merged = new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+        for (DailySalesRollupDto row : rollup) {
+            merged.merge(row.getOrderType(), row, (a, b) -> new DailySalesRollupDto(
+                    a.getOrderType(),
+                    a.getOrderCount() + b.getOrderCount(),
+                    a.getGuestCount() + b.getGuestCount(),
+                    a.getAmountDue().add(b.getAmountDue()),
+                    a.getSubTotal().add(b.getSubTotal()),
+                    a.getDiscountAmount().add(b.getDiscountAmount()),
+                    a.getVoidOrderCount() + b.getVoidOrderCount(),
+                    a.getVoidAmount().add(b.getVoidAmount()),
+                    a.getInhouseOrderCount() + b.getInhouseOrderCount(),
+                    a.getInhouseAmount().add(b.getInhouseAmount())));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static BigDecimal sum(List<DailySalesRollupDto> rollup, Function<DailySalesRollupDto, BigDecimal> field) {
+        return rollup.stream().map(field).filter(Objects::nonNull).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private List<OrderTypeInfo> getOrderTypeInfos(List<DailySalesRollupDto> rollup) {
         List<OrderTypeInfo> orderTypeInfoList = new ArrayList<>();
-        List<DailyRevenueBreakdownDto> typeData = dashboardData.stream()
-                .filter(d -> d.getOrderType() != null)
-                .toList();
-        for (DailyRevenueBreakdownDto dto : typeData) {
+        for (DailySalesRollupDto row : rollup) {
+            if (row.getOrderType() == null) {
+                continue;
+            }
             orderTypeInfoList.add(new OrderTypeInfo(
-                    dto.getOrderType(),
-                    dto.getTotalOrders() != null ? dto.getTotalOrders().intValue() : 0,
-                    dto.getAmoountDue() != null ? dto.getAmoountDue().doubleValue() : 0
+                    OrderTypeEnum.valueOf(row.getOrderType()),
+                    row.getOrderCount().intValue(),
+                    row.getAmountDue().doubleValue()
             ));
         }
         return orderTypeInfoList;
@@ -181,53 +262,11 @@ public class DashboardService {
                     selectedRestaurant.getOpeningTime(), selectedRestaurant.getClosingTime(),
                     selectedDate, selectedRestaurant.getTimeZone());
 
-            List<DetailedReportDataDto> queryData = dashboardRepository.getDailyDetailedReportData(
-                    restaurantUuid, businessWindow.start(), businessWindow.end());
-            DailyDetailedReportResponse response = new DailyDetailedReportResponse();
-
-            // Group data by orderId to build order details
-            Map<Integer, List<DetailedReportDataDto>> orderMap = queryData.stream()
-                    .collect(Collectors.groupingBy(DetailedReportDataDto::getOrderId));
-
-            List<OrderDetailDto> orderDetails = extractOrderDetails(orderMap, "normal");
-            orderDetails.sort(Comparator.comparing(OrderDetailDto::getOrderTime));
-            response.setOrderList(orderDetails);
-            response.setTotalRevenue(orderDetails.stream()
-                    .filter(o -> o.getTotalAmount() != null)
-                    .mapToDouble(OrderDetailDto::getTotalAmount)
-                    .sum());
-            response.setTotalOrders(orderMap.size());
-
-            // Calculate hourly breakdown
-            List<HourlyReportDataDto> hourlyBreakdown = calculateHourlyBreakdown(queryData);
-            response.setHourlyBreakdown(hourlyBreakdown);
-
-            // Fetch void order metrics
-            List<DetailedReportDataDto> voidMetrics = dashboardRepository.getVoidOrderList(restaurantUuid, businessWindow.start(), businessWindow.end());
-            // Group data by orderId to build order details
-            Map<Integer, List<DetailedReportDataDto>> voidOrderMap = voidMetrics.stream()
-                    .collect(Collectors.groupingBy(DetailedReportDataDto::getOrderId));
-            List<OrderDetailDto> voidOrderDetails = extractOrderDetails(voidOrderMap, "void");
-            voidOrderDetails.sort(Comparator.comparing(OrderDetailDto::getOrderTime));
-            response.setVoidOrderList(voidOrderDetails);
-            response.setVoidOrderCount(voidOrderDetails.size());
-            response.setTotalVoidAmount(voidOrderDetails.stream()
-                    .filter(o -> o.getTotalAmount() != null)
-                    .mapToDouble(OrderDetailDto::getTotalAmount)
-                    .sum());
-
-            // Set inhouse order metrics
-            response.setOnlineOrderCount((int) response.getOrderList().stream()
-                    .filter(o -> OrderTypeEnum.ONLINE_ORDER.name().equalsIgnoreCase(o.getOrderType()))
-                    .count());
-            response.setTotalOnlineOrderAmount(response.getOrderList().stream()
-                    .filter(o -> OrderTypeEnum.ONLINE_ORDER.name().equalsIgnoreCase(o.getOrderType()))
-                    .filter(o -> o.getTotalAmount() != null)
-                    .mapToDouble(OrderDetailDto::getTotalAmount)
-                    .sum());
+            DailyDetailedReportResponse response = dashboardCacheService.get(restaurantUuid, DashboardCacheService.DAILY_DETAILED,
+                    businessWindow.start(), businessWindow.end(), () -> getDailyDetailedData(restaurantUuid, businessWindow));
 
             log.info("Daily detailed report generated successfully for restaurantId: {} for startTime: {} endTime:{} with {} orders",
-                    restaurantId, businessWindow.start(),businessWindow.end(), orderMap.size());
+                    restaurantId, businessWindow.start(),businessWindow.end(), response.getTotalOrders());
             return response;
         } catch (AppException e) {
             log.error("getDailyDetailedReport::AppException, Error generating daily detailed report", e);
@@ -238,7 +277,226 @@ public class DashboardService {
         }
     }
 
-    private List<OrderDetailDto> extractOrderDetails(Map<Integer, List<DetailedReportDataDto>> orderMap, String type) {
+    private DailyDetailedReportResponse getDailyDetailedData(UUID restaurantUuid, BusinessWindowUtil.BusinessWindow businessWindow) {
+        OffsetDateTime start = businessWindow.start();
+        OffsetDateTime end = businessWindow.end();
+        List<DetailedOrderDto> orders;
+        List<DetailedPaymentDto> payments;
+        List<DetailedPaymentDto> charges;
+        List<DetailedTransactionDto> transactions;
+        List<DetailedReportDataDto> voidMetrics;
+        // independent queries, run concurrently
+        try (DashboardQueryExecutor.QueryGroup queries = dashboardQueryExecutor.group()) {
+            DashboardQueryExecutor.Query<List<DetailedOrderDto>> ordersQuery = queries.submit("detailed-orders",
+                    () -> dashboardRepository.getDetailedReportOrders(restaurantUuid, start, end));
+            DashboardQueryExecutor.Query<List<DetailedPaymentDto>> paymentsQuery = queries.submit("detailed-payments",
+                    () -> dashboardRepository.getDetailedReportPayments(restaurantUuid, start, end));
+            DashboardQueryExecutor.Query<List<DetailedPaymentDto>> chargesQuery = queries.submit("detailed-charges",
+                    () -> dashboardRepository.getDetailedReportCharges(restaurantUuid, start, end));
+            DashboardQueryExecutor.Query<List<DetailedTransactionDto>> transactionsQuery = queries.submit("detailed-transactions",
+                    () -> dashboardRepository.getDetailedReportTransactions(restaurantUuid, start, end));
+            DashboardQueryExecutor.Query<List<DetailedReportDataDto>> voidOrdersQuery = queries.submit("void-orders",
+                    () -> dashboardRepository.getVoidOrderList(restaurantUuid, start, end));
+
+            orders = ordersQuery.get();
+            payments = paymentsQuery.get();
+            charges = chargesQuery.get();
+            transactions = transactionsQuery.get();
+            voidMetrics = voidOrdersQuery.get();
+        }
+        log.debug("Detailed report rows for restaurantId: {} - orders: {}, payments: {}, charges: {}, transactions: {}",
+                restaurantUuid, orders.size(), payments.size(), charges.size(), transactions.size());
+        DailyDetailedReportResponse response = new DailyDetailedReportResponse();
+
+        DetailedOrders detailedOrders = mergeDetailedOrders(orders, payments, charges, transactions);
+        List<OrderDetailDto> orderDetails = detailedOrders.orderDetails();
+        orderDetails.sort(Comparator.comparing(OrderDetailDto::getOrderTime));
+        response.setOrderList(orderDetails);
+        response.setTotalRevenue(orderDetails.stream()
+                .filter(o -> o.getTotalAmount() != null)
+                .mapToDouble(OrderDetailDto::getTotalAmount)
+                .sum());
+        response.setTotalOrders(orders.size());
+
+        // Calculate hourly breakdown
+        List<HourlyReportDataDto> hourlyBreakdown = calculateHourlyBreakdown(detailedOrders.firstRows());
+        response.setHourlyBreakdown(hourlyBreakdown);
+
+        // Group data by orderId to build order details
+        Map<Integer, List<DetailedReportDataDto>> voidOrderMap = voidMetrics.stream()
+                .collect(Collectors.groupingBy(DetailedReportDataDto::getOrderId));
+        List<OrderDetailDto> voidOrderDetails = extractOrderDetails(voidOrderMap, "void");
+        voidOrderDetails.sort(Comparator.comparing(OrderDetailDto::getOrderTime));
+        response.setVoidOrderList(voidOrderDetails);
+        response.setVoidOrderCount(voidOrderDetails.size());
+        response.setTotalVoidAmount(voidOrderDetails.stream()
+                .filter(o -> o.getTotalAmount() != null)
+                .mapToDouble(OrderDetailDto::getTotalAmount)
+                .sum());
+
+        // Set inhouse order metrics
+        response.setOnlineOrderCount((int) response.getOrderList().stream()
+                .filter(o -> OrderTypeEnum.ONLINE_ORDER.name().equalsIgnoreCase(o.getOrderType()))
+                .count());
+        response.setTotalOnlineOrderAmount(response.getOrderList().stream()
+                .filter(o -> OrderTypeEnum.ONLINE_ORDER.name().equalsIgnoreCase(o.getOrderType()))
+                .filter(o -> o.getTotalAmount() != null)
+                .mapToDouble(OrderDetailDto::getTotalAmount)
+                .sum());
+
+        return response;
+    }
+
+    /**
+     * Order details of the orders with payments or charges, and the first row of every order for the hourly breakdown.
+     */
+    record DetailedOrders(List<OrderDetailDto> orderDetails, List<DetailedReportDataDto> firstRows) {
+    }
+
+    /**
+     * Merges the detailed report queries, each ordered by orderId (children by their own id), in one pass.
+     * Gives the same order details and first rows as grouping the former single join by orderId.
+     */
+    static DetailedOrders mergeDetailedOrders(List<DetailedOrderDto> orders, List<DetailedPaymentDto> payments,
+                                              List<DetailedPaymentDto> charges, List<DetailedTransactionDto> transactions) {
+        // All four lists are ordered by orderId, every order takes the next run of each child list
+        List<OrderDetailDto> orderDetails = new ArrayList<>();
+        List<DetailedReportDataDto> firstRows = new ArrayList<>(orders.size());
+        int paymentIndex = 0;
+        int chargeIndex = 0;
+        int transactionIndex = 0;
+        for (DetailedOrderDto order : orders) {
+            paymentIndex = seek(payments, paymentIndex, DetailedPaymentDto::getOrderId, order.getOrderId());
+            int paymentEnd = seek(payments, paymentIndex, DetailedPaymentDto::getOrderId, order.getOrderId() + 1);
+            chargeIndex = seek(charges, chargeIndex, DetailedPaymentDto::getOrderId, order.getOrderId());
+            int chargeEnd = seek(charges, chargeIndex, DetailedPaymentDto::getOrderId, order.getOrderId() + 1);
+            transactionIndex = seek(transactions, transactionIndex, DetailedTransactionDto::getOrderId, order.getOrderId());
+            int transactionEnd = seek(transactions, transactionIndex, DetailedTransactionDto::getOrderId, order.getOrderId() + 1);
+
+            List<DetailedPaymentDto> orderPayments = payments.subList(paymentIndex, paymentEnd);
+            List<DetailedPaymentDto> orderCharges = charges.subList(chargeIndex, chargeEnd);
+            List<DetailedTransactionDto> orderTransactions = transactions.subList(transactionIndex, transactionEnd);
+            paymentIndex = paymentEnd;
+            chargeIndex = chargeEnd;
+            transactionIndex = transactionEnd;
+
+            OrderDetailDto orderDetail = toOrderDetail(order, orderPayments, orderCharges, orderTransactions);
+            if (orderDetail.getTotalAmount() == 0) {
+                log.warn("Order ID {} has no payment records, skipping order detail", order.getOrderId());
+            } else {
+                orderDetails.add(orderDetail);
+            }
+            firstRows.add(toFirstRow(order, orderPayments, orderCharges, orderTransactions));
+        }
+
+        return new DetailedOrders(orderDetails, firstRows);
+    }
+
+    /**
+     * Index of the first row from {@code from} on whose orderId is not below {@code orderId}.
+     */
+    static <T> int seek(List<T> rows, int from, Function<T, Integer> rowOrderId, int orderId) {
+        int index = from;
+        while (index < rows.size() && rowOrderId.apply(rows.get(index)) < orderId) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Order detail from the order's payments, charges and transactions, each ordered by id: the total of the
+     * payments and charges less employee comp, the distinct payment methods and one item per transaction.
+     */
+    private static OrderDetailDto toOrderDetail(DetailedOrderDto order, List<DetailedPaymentDto> payments, List<DetailedPaymentDto> charges,
+                                         List<DetailedTransactionDto> transactions) {
+        OrderDetailDto orderDetail = new OrderDetailDto();
+        orderDetail.setOrderNumber(order.getOrderId());
+        orderDetail.setOrderTime(order.getOrderDateTime());
+
+        BigDecimal total = BigDecimal.ZERO;
+        Set<String> paymentMethods = new LinkedHashSet<>();
+        Integer previousId = null;
+        for (DetailedPaymentDto payment : payments) {
+            if (payment.getId() == null || payment.getId().equals(previousId)) {
+                continue;
+            }
+            previousId = payment.getId();
+            total = total.add(netAmount(payment));
+            if (payment.getPaymentMethod() != null) {
+                paymentMethods.add(payment.getPaymentMethod());
+            }
+        }
+        previousId = null;
+        for (DetailedPaymentDto charge : charges) {
+            if (charge.getId() == null || charge.getId().equals(previousId)) {
+                continue;
+            }
+            previousId = charge.getId();
+            total = total.add(netAmount(charge));
+        }
+        orderDetail.setTotalAmount(total.doubleValue());
+        orderDetail.setPaymentMode(String.join(", ", paymentMethods));
+
+        // Edge case - added after inhouse orders
+        String paymentMethod = payments.isEmpty() ? null : payments.get(0).getPaymentMethod();
+        if (paymentMethod != null && paymentMethod.equalsIgnoreCase("ONLINE_ORDER")) {
+            orderDetail.setOrderType(OrderTypeEnum.ONLINE_ORDER.name());
+        } else {
+            orderDetail.setOrderType(order.getOrderType() != null ? order.getOrderType().name() : "UNKNOWN");
+            orderDetail.setGuests(order.getGuestNumber());
+        }
+
+        List<OrderItemDetailDto> orderItems = new ArrayList<>(transactions.size());
+        previousId = null;
+        for (DetailedTransactionDto transaction : transactions) {
+            // a menu item synced twice repeats its transactions
+            if (transaction.getOrderTransactionId().equals(previousId)) {
+                continue;
+            }
+            previousId = transaction.getOrderTransactionId();
+            OrderItemDetailDto item = new OrderItemDetailDto();
+            item.setOrderItemName(transaction.getMenuItemText() != null ? transaction.getMenuItemText() : " - ");
+            item.setQuantity(transaction.getQuantity());
+            item.setPrice(transaction.getExtendedPrice());
+            item.setDiscountGiven(transaction.getDiscountAmount());
+            orderItems.add(item);
+        }
+        orderDetail.setOrderItems(orderItems);
+        return orderDetail;
+    }
+
+    private static BigDecimal netAmount(DetailedPaymentDto payment) {
+        BigDecimal employeeComp = payment.getEmployeeComp() != null ? payment.getEmployeeComp() : BigDecimal.ZERO;
+        return payment.getAmount().subtract(employeeComp);
+    }
+
+    /**
+     * The row the former single join returned first for the order (its first payment, charge and transaction),
+     * which is what the hourly breakdown counts per order.
+     */
+    private static DetailedReportDataDto toFirstRow(DetailedOrderDto order, List<DetailedPaymentDto> payments, List<DetailedPaymentDto> charges,
+                                                    List<DetailedTransactionDto> transactions) {
+        DetailedPaymentDto payment = payments.isEmpty() ? null : payments.get(0);
+        DetailedPaymentDto charge = charges.isEmpty() ? null : charges.get(0);
+        DetailedTransactionDto transaction = transactions.isEmpty() ? null : transactions.get(0);
+        return new DetailedReportDataDto(
+                order.getOrderId(), order.getOrderDateTime(), order.getOrderType(), order.getGuestNumber(),
+                payment != null ? payment.getId() : null,
+                charge != null ? charge.getId() : null,
+                payment != null ? payment.getPaymentMethod() : null,
+                payment != null ? payment.getAmount() : BigDecimal.ZERO,
+                charge != null ? charge.getAmount() : BigDecimal.ZERO,
+                payment != null ? payment.getEmployeeComp() : null,
+                charge != null ? charge.getEmployeeComp() : null,
+                transaction != null ? transaction.getOrderTransactionId() : null,
+                transaction != null ? transaction.getMenuItemId() : null,
+                transaction != null ? transaction.getQuantity() : null,
+                transaction != null ? transaction.getExtendedPrice() : null,
+                transaction != null ? transaction.getDiscountAmount() : null,
+                transaction != null ? transaction.getMenuItemText() : null);
+    }
+
+    List<OrderDetailDto> extractOrderDetails(Map<Integer, List<DetailedReportDataDto>> orderMap, String type) {
         List<OrderDetailDto> orderDetails = new ArrayList<>();
         for(Map.Entry<Integer, List<DetailedReportDataDto>> entry : orderMap.entrySet()) {
             log.info("Order ID: {}, number of items: {}", entry.getKey(), entry.getValue().size());
@@ -372,87 +630,11 @@ public class DashboardService {
             OffsetDateTime monthStartDateTime = startWindow.start();
             OffsetDateTime monthEndDateTime = endWindow.end();
 
-            // Fetch monthly data grouped by order type
-            List<MonthlyReportDataDto> monthlyData = dashboardRepository.getMonthlyReportData(
-                    restaurantUuid, monthStartDateTime, monthEndDateTime);
-
-            // Calculate total revenue
-            BigDecimal totalRevenue = monthlyData.stream()
-                    .map(MonthlyReportDataDto::getSumOfAmountPaid)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            // Build breakdown by order type
-            List<OrderTypeDto> orderTypeList = new ArrayList<>();
-            for (MonthlyReportDataDto item : monthlyData) {
-                OrderTypeDto typeDto = new OrderTypeDto();
-                typeDto.setOrderType(item.getOrderType() != null ? item.getOrderType().name() : "UNKNOWN");
-                typeDto.setNumberOfOrders(item.getNumberOfOrders().intValue());
-                typeDto.setSumOfAmountPaid(item.getSumOfAmountPaid());
-
-                orderTypeList.add(typeDto);
-            }
-
-            // Build response
-            MonthlyReportResponse response = new MonthlyReportResponse();
-            response.setMonthName(yearMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
-            response.setTotalMonthlyRevenue(totalRevenue);
-            response.setMonthStartDate(monthStart);
-            response.setMonthEndDate(monthEnd);
-            response.setByOrderTypeList(orderTypeList);
-
-            // Fetch void order metrics for the month
-            List<VoidOrderMetricsDto> voidMetrics = dashboardRepository.getVoidOrderMetrics(restaurantUuid, monthStartDateTime, monthEndDateTime);
-            if (voidMetrics != null && !voidMetrics.isEmpty()) {
-                response.setVoidOrderCount(voidMetrics.size());
-                response.setTotalVoidAmount(voidMetrics.stream()
-                        .map(VoidOrderMetricsDto::getTotalVoidAmount)
-                        .filter(Objects::nonNull)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add));
-            } else {
-                response.setVoidOrderCount(0);
-                response.setTotalVoidAmount(java.math.BigDecimal.ZERO);
-            }
-
-            // Fetch inhouse order metrics for the month
-            InhouseOrderMetricsDto inhouseMetrics = dashboardRepository.getInhouseOrderMetrics(restaurantUuid, monthStartDateTime, monthEndDateTime);
-            if (inhouseMetrics != null) {
-                response.setInhouseOrderCount(inhouseMetrics.getInhouseOrderCount() != null ? inhouseMetrics.getInhouseOrderCount().intValue() : 0);
-                response.setTotalInhouseAmount(inhouseMetrics.getTotalInhouseAmount() != null ? inhouseMetrics.getTotalInhouseAmount() : java.math.BigDecimal.ZERO);
-            } else {
-                response.setInhouseOrderCount(0);
-                response.setTotalInhouseAmount(java.math.BigDecimal.ZERO);
-            }
-
-
-//            if(response.getInhouseOrderCount() > 0){
-//                response.setTotalOrders(response.getInhouseOrderCount() + response.getByOrderTypeList().stream()
-//                        .map(OrderTypeDto::getNumberOfOrders)
-//                        .reduce(0, Integer::sum));
-//            }else{
-                response.setTotalOrders(response.getByOrderTypeList().stream()
-                        .map(OrderTypeDto::getNumberOfOrders)
-                        .reduce(0, Integer::sum));
-//            }
-//            if(response.getTotalInhouseAmount() != null && response.getTotalInhouseAmount().compareTo(BigDecimal.ZERO) > 0){
-//                response.setTotalMonthlyRevenue(response.getTotalInhouseAmount().add(totalRevenue));
-//            }
-
-            if(response.getInhouseOrderCount() > 0){
-                OrderTypeDto typeDto = new OrderTypeDto();
-                typeDto.setOrderType(OrderTypeEnum.ONLINE_ORDER.name());
-                typeDto.setNumberOfOrders(response.getInhouseOrderCount());
-                typeDto.setSumOfAmountPaid(response.getTotalInhouseAmount() != null ? response.getTotalInhouseAmount() : BigDecimal.ZERO);
-                response.getByOrderTypeList().add(typeDto);
-            }
-            for(OrderTypeDto item : response.getByOrderTypeList()) {
-                // Calculate percentage of total revenue
-                double percentage = response.getTotalMonthlyRevenue().compareTo(BigDecimal.ZERO) > 0
-                        ? (item.getSumOfAmountPaid().doubleValue() / response.getTotalMonthlyRevenue().doubleValue()) * 100
-                        : 0.0;
-                item.setPercentageOfTotalRevenue(Math.round(percentage * 100.0) / 100.0);
-            }
+            // Cached until a sync touches an order of the month's window
+            MonthlyReportResponse response = dashboardCacheService.get(restaurantUuid, DashboardCacheService.MONTHLY,
+                    monthStartDateTime, monthEndDateTime, () -> getMonthlyData(restaurantUuid, yearMonth, monthStartDateTime, monthEndDateTime));
             log.info("Monthly report generated successfully for restaurantId: {} for month: {} with total revenue: {}",
-                    restaurantId, monthStr, totalRevenue);
+                    restaurantId, monthStr, response.getTotalMonthlyRevenue());
 
             return response;
         } catch (AppException e) {
@@ -464,6 +646,105 @@ public class DashboardService {
         }
     }
 
+    private MonthlyReportResponse getMonthlyData(UUID restaurantUuid, YearMonth yearMonth,
+                                                 OffsetDateTime monthStartDateTime, OffsetDateTime monthEndDateTime) {
+        LocalDate monthStart = yearMonth.atDay(1);
+        LocalDate monthEnd = yearMonth.atEndOfMonth();
+
+        // Monthly data grouped by order type, void and inhouse metrics are independent, run concurrently
+        List<MonthlyReportDataDto> monthlyData;
+        List<VoidOrderMetricsDto> voidMetrics;
+        InhouseOrderMetricsDto inhouseMetrics;
+        try (DashboardQueryExecutor.QueryGroup queries = dashboardQueryExecutor.group()) {
+            DashboardQueryExecutor.Query<List<MonthlyReportDataDto>> monthlyQuery = queries.submit("monthly-revenue",
+                    () -> dashboardRepository.getMonthlyReportData(restaurantUuid, monthStartDateTime, monthEndDateTime));
+            DashboardQueryExecutor.Query<List<VoidOrderMetricsDto>> voidQuery = queries.submit("monthly-voids",
+                    () -> dashboardRepository.getVoidOrderMetrics(restaurantUuid, monthStartDateTime, monthEndDateTime));
+            DashboardQueryExecutor.Query<InhouseOrderMetricsDto> inhouseQuery = queries.submit("monthly-inhouse",
+                    () -> dashboardRepository.getInhouseOrderMetrics(restaurantUuid, monthStartDateTime, monthEndDateTime));
+
+            monthlyData = monthlyQuery.get();
+            voidMetrics = voidQuery.get();
+            inhouseMetrics = inhouseQuery.get();
+        }
+
+        // Calculate total revenue
+        BigDecimal totalRevenue = monthlyData.stream()
+                .map(MonthlyReportDataDto::getSumOfAmountPaid)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        // Build breakdown by order type
+        List<OrderTypeDto> orderTypeList = new ArrayList<>();
+        for (MonthlyReportDataDto item : monthlyData) {
+            OrderTypeDto typeDto = new OrderTypeDto();
+            typeDto.setOrderType(item.getOrderType() != null ? item.getOrderType().name() : "UNKNOWN");
+            typeDto.setNumberOfOrders(item.getNumberOfOrders().intValue());
+            typeDto.setSumOfAmountPaid(item.getSumOfAmountPaid());
+
+            orderTypeList.add(typeDto);
+        }
+
+        // Build response
+        MonthlyReportResponse response = new MonthlyReportResponse();
+        response.setMonthName(yearMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+        response.setTotalMonthlyRevenue(totalRevenue);
+        response.setMonthStartDate(monthStart);
+        response.setMonthEndDate(monthEnd);
+        response.setByOrderTypeList(orderTypeList);
+
+        // Void order metrics for the month
+        if (voidMetrics != null && !voidMetrics.isEmpty()) {
+            response.setVoidOrderCount(voidMetrics.size());
+            response.setTotalVoidAmount(voidMetrics.stream()
+                    .map(VoidOrderMetricsDto::getTotalVoidAmount)
+                    .filter(Objects::nonNull)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add));
+        } else {
+            response.setVoidOrderCount(0);
+            response.setTotalVoidAmount(java.math.BigDecimal.ZERO);
+        }
+
+        // Inhouse order metrics for the month
+        if (inhouseMetrics != null) {
+            response.setInhouseOrderCount(inhouseMetrics.getInhouseOrderCount() != null ? inhouseMetrics.getInhouseOrderCount().intValue() : 0);
+            response.setTotalInhouseAmount(inhouseMetrics.getTotalInhouseAmount() != null ? inhouseMetrics.getTotalInhouseAmount() : java.math.BigDecimal.ZERO);
+        } else {
+            response.setInhouseOrderCount(0);
+            response.setTotalInhouseAmount(java.math.BigDecimal.ZERO);
+        }
+
+
+//        if(response.getInhouseOrderCount() > 0){
+//            response.setTotalOrders(response.getInhouseOrderCount() + response.getByOrderTypeList().stream()
+//                    .map(OrderTypeDto::getNumberOfOrders)
+//                    .reduce(0, Integer::sum));
+//        }else{
+            response.setTotalOrders(response.getByOrderTypeList().stream()
+                    .map(OrderTypeDto::getNumberOfOrders)
+                    .reduce(0, Integer::sum));
+//        }
+//        if(response.getTotalInhouseAmount() != null && response.getTotalInhouseAmount().compareTo(BigDecimal.ZERO) > 0){
+//            response.setTotalMonthlyRevenue(response.getTotalInhouseAmount().add(totalRevenue));
+//        }
+
+        if(response.getInhouseOrderCount() > 0){
+            OrderTypeDto typeDto = new OrderTypeDto();
+            typeDto.setOrderType(OrderTypeEnum.ONLINE_ORDER.name());
+            typeDto.setNumberOfOrders(response.getInhouseOrderCount());
+            typeDto.setSumOfAmountPaid(response.getTotalInhouseAmount() != null ? response.getTotalInhouseAmount() : BigDecimal.ZERO);
+            response.getByOrderTypeList().add(typeDto);
+        }
+        for(OrderTypeDto item : response.getByOrderTypeList()) {
+            // Calculate percentage of total revenue
+            double percentage = response.getTotalMonthlyRevenue().compareTo(BigDecimal.ZERO) > 0
+                    ? (item.getSumOfAmountPaid().doubleValue() / response.getTotalMonthlyRevenue().doubleValue()) * 100
+                    : 0.0;
+            item.setPercentageOfTotalRevenue(Math.round(percentage * 100.0) / 100.0);
+        }
+
+        return response;
+    }
+
     @Transactional
     public DailyChartDataResponse getDailyChartDataForMonth(String restaurantId, String monthStr) {
         try {
@@ -500,30 +781,11 @@ public class DashboardService {
             OffsetDateTime monthStartDateTime = startWindow.start();
             OffsetDateTime monthEndDateTime = endWindow.end();
 
-            // Fetch daily chart data grouped by date
-            List<DailyChartDataDto> dailyData = dashboardRepository.getDailyChartData(
-                    restaurantUuid, monthStartDateTime, monthEndDateTime);
-
-            // Build response with day-by-day data
-            DailyChartDataResponse response = new DailyChartDataResponse();
-            response.setMonthName(yearMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
-            response.setMonthStartDate(monthStart);
-            response.setMonthEndDate(monthEnd);
-
-            List<DailyChartDataResponse.DailyChartData> chartDataList = new ArrayList<>();
-            for (DailyChartDataDto item : dailyData) {
-                DailyChartDataResponse.DailyChartData chartData = new DailyChartDataResponse.DailyChartData();
-                chartData.setDate(item.getDate());
-                chartData.setWeekday(item.getDate().getDayOfWeek().name());
-                chartData.setTotalOrders(item.getNumberOfOrders() != null ? item.getNumberOfOrders().intValue() : 0);
-                chartData.setTotalRevenue(item.getSumOfAmountPaid() != null ? item.getSumOfAmountPaid() : BigDecimal.ZERO);
-                chartDataList.add(chartData);
-            }
-
-            response.setDailyData(chartDataList);
+            DailyChartDataResponse response = dashboardCacheService.get(restaurantUuid, DashboardCacheService.DAILY_CHART,
+                    monthStartDateTime, monthEndDateTime, () -> getDailyChartData(restaurantUuid, yearMonth, monthStartDateTime, monthEndDateTime));
 
             log.info("Daily chart data generated successfully for restaurantId: {} for month: {} with {} days of data",
-                    restaurantId, monthStr, chartDataList.size());
+                    restaurantId, monthStr, response.getDailyData().size());
 
             return response;
         } catch (AppException e) {
@@ -535,6 +797,33 @@ public class DashboardService {
         }
     }
 
+    private DailyChartDataResponse getDailyChartData(UUID restaurantUuid, YearMonth yearMonth,
+                                                     OffsetDateTime monthStartDateTime, OffsetDateTime monthEndDateTime) {
+        // Fetch daily chart data grouped by date
+        List<DailyChartDataDto> dailyData = dashboardRepository.getDailyChartData(
+                restaurantUuid, monthStartDateTime, monthEndDateTime);
+
+        // Build response with day-by-day data
+        DailyChartDataResponse response = new DailyChartDataResponse();
+        response.setMonthName(yearMonth.format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+        response.setMonthStartDate(yearMonth.atDay(1));
+        response.setMonthEndDate(yearMonth.atEndOfMonth());
+
+        List<DailyChartDataResponse.DailyChartData> chartDataList = new ArrayList<>();
+        for (DailyChartDataDto item : dailyData) {
+            DailyChartDataResponse.DailyChartData chartData = new DailyChartDataResponse.DailyChartData();
+            chartData.setDate(item.getDate());
+            chartData.setWeekday(item.getDate().getDayOfWeek().name());
+            chartData.setTotalOrders(item.getNumberOfOrders() != null ? item.getNumberOfOrders().intValue() : 0);
+            chartData.setTotalRevenue(item.getSumOfAmountPaid() != null ? item.getSumOfAmountPaid() : BigDecimal.ZERO);
+            chartDataList.add(chartData);
+        }
+
+        response.setDailyData(chartDataList);
+
+        return response;
+    }
+
     private User findUserInfo(String userEmail, String s) {
         User user = User.<User>find("email = ?1", userEmail)
                 .firstResultOptional().orElse(null);
@@ -548,13 +837,12 @@ public class DashboardService {
     private Restaurant extractSelectedRestaurant(String restaurantId, String userEmail, User user, DashboardResponse response) {
         if ("ALL".equalsIgnoreCase(restaurantId)) {
             log.info("ALL restaurantId provided for user: {}", userEmail);
-            throw new AppException("ALL restaurantId is not supported for DashboardData request", Response.Status.BAD_REQUEST);
+            throw new AppException("ALL restaurantId is only supported for the dashboard by date", Response.Status.BAD_REQUEST);
         } else if (restaurantId == null || restaurantId.isEmpty()) {
             log.warn("Missing restaurantId parameter for DashboardData request");
             log.info("Attempting to set restaurant info based on user's primary restaurant for user: {}", userEmail);
             if (user.getPrimaryRestaurant() != null) {
-                Restaurant restaurant = user.getPrimaryRestaurant();
-                response.setRestaurantInfo(new RestaurantInfo(restaurant.getId().toString(), restaurant.getName(), restaurant.getAddress()));
+                response.setRestaurantInfo(toRestaurantInfo(user.getPrimaryRestaurant()));
                 return user.getPrimaryRestaurant();
             }
         } else {
@@ -565,15 +853,21 @@ public class DashboardService {
                 log.warn("Restaurant not found for Get DashboardData request : {}", restaurantId);
                 throw new AppException("Restaurant not found", Response.Status.BAD_REQUEST);
             }
-            response.setRestaurantInfo(new RestaurantInfo(restaurant.getId().toString(), restaurant.getName(), restaurant.getAddress()));
+            response.setRestaurantInfo(toRestaurantInfo(restaurant));
             return restaurant;
         }
         return null;
     }
 
-    private static void setRestaurantListInfo(User user, DashboardResponse response) {
+    private RestaurantInfo toRestaurantInfo(Restaurant restaurant) {
+        return new RestaurantInfo(restaurant.getId().toString(), restaurant.getName(), restaurant.getAddress(),
+                syncHeartbeatService.getLastSyncTime(restaurant.getId(), restaurant.getLastSyncTime()));
+    }
+
+    private void setRestaurantListInfo(User user, DashboardResponse response) {
         response.setAssociatedRestaurants(user.getUserRestaurants().stream()
-                .map(r -> new RestaurantInfo(r.getId().toString(), r.getRestaurant().getName(), r.getRestaurant().getAddress()))
+                .map(r -> new RestaurantInfo(r.getId().toString(), r.getRestaurant().getName(), r.getRestaurant().getAddress(),
+                        syncHeartbeatService.getLastSyncTime(r.getRestaurant().getId(), r.getRestaurant().getLastSyncTime())))
                 .toList());
     }
 
@@ -581,7 +875,7 @@ public class DashboardService {
      * Calculate hourly breakdown from detailed report data
      * Groups orders by hour (0-23) and aggregates revenue, discounts, guests, and order count
      */
-    private List<HourlyReportDataDto> calculateHourlyBreakdown(List<DetailedReportDataDto> queryData) {
+    List<HourlyReportDataDto> calculateHourlyBreakdown(List<DetailedReportDataDto> queryData) {
         log.debug("Calculating hourly breakdown for {} data records", queryData.size());
 
         // Group by hour of day
@@ -0,0 +1,37 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import jakarta.transaction.TransactionScoped;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders whose rollup refresh is held back until the end of the current transaction, see
+ * {@link DailySalesRollupService#deferRefreshes()}.
+ */
+@TransactionScoped
+class DeferredRollupRefresh {
+
+    private boolean active;
+    private final List<OrderBusinessDateDto> touched = new ArrayList<>();
+
+    void start() {
+        active = true;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    void add(List<OrderBusinessDateDto> orders) {
+        touched.addAll(orders);
+    }
+
+    List<OrderBusinessDateDto> finish() {
+        active = false;
+        List<OrderBusinessDateDto> orders = new ArrayList<>(touched);
+        touched.clear();
+        return orders;
+    }
+}
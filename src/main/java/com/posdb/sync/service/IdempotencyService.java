@@ -0,0 +1,106 @@
+package com.posdb.sync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.repository.SyncIdempotencyKeyRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static com.posdb.sync.dto.constants.AppConstants.IDEMPOTENCY_KEY;
+
+@ApplicationScoped
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    @ConfigProperty(name = "pos.sync.idempotency.ttl", defaultValue = "24h")
+    Duration ttl;
+
+    @Inject
+    SyncIdempotencyKeyRepository syncIdempotencyKeyRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Returns the stored response when this batch was already committed for the restaurant, otherwise runs the sync
+     * and stores its response in the same transaction. The batch is identified by the {@code Idempotency-Key} header,
+     * or by the SHA-256 of the request when the client sends none.
+     * Only successful syncs are stored, a failed sync throws and rolls back before reaching that point.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <T> T replayOrRun(Restaurant restaurant, SyncEntityType entityType, Object request, HttpHeaders headers,
+                             Class<T> responseType, Supplier<T> sync) {
+        String idempotencyKey = resolveKey(request, headers);
+        Optional<T> storedResponse = findResponse(restaurant, entityType, idempotencyKey, responseType);
+        if (storedResponse.isPresent()) {
+            return storedResponse.get();
+        }
+        T response = sync.get();
+        storeResponse(restaurant, entityType, idempotencyKey, response);
+        return response;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public <T> Optional<T> findResponse(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey, Class<T> responseType) {
+        return syncIdempotencyKeyRepository.findByRestaurantAndKey(restaurant, entityType, idempotencyKey)
+                .filter(entry -> entry.getExpiresAt().isAfter(OffsetDateTime.now()))
+                .map(entry -> {
+                    log.info("IdempotencyService:: Replaying stored {} response for restaurantId: {}, key: {}",
+                            entityType, restaurant.getName(), idempotencyKey);
+                    return readResponse(entry.getResponse(), responseType);
+                });
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void storeResponse(Restaurant restaurant, SyncEntityType entityType, String idempotencyKey, Object response) {
+        syncIdempotencyKeyRepository.upsert(restaurant, entityType, idempotencyKey, writeResponse(response),
+                OffsetDateTime.now().plus(ttl));
+    }
+
+    public String resolveKey(Object request, HttpHeaders headers) {
+        String idempotencyKey = headers.getHeaderString(IDEMPOTENCY_KEY);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+                throw new AppException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters", Response.Status.BAD_REQUEST);
+            }
+            return idempotencyKey;
+        }
+        try {
+            return DigestUtils.sha256Hex(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new AppException("Failed to compute request digest", e, Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private String writeResponse(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new AppException("Failed to store sync response", e, Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private <T> T readResponse(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new AppException("Failed to read stored sync response", e, Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
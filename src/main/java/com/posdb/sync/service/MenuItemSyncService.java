@@ -1,22 +1,31 @@
 package com.posdb.sync.service;
 
+import com.posdb.sync.admission.AdmissionControlled;
 import com.posdb.sync.dto.response.SyncResponse;
 import com.posdb.sync.dto.sync.MenuItemData;
 import com.posdb.sync.dto.sync.MenuItemSyncRequest;
 import com.posdb.sync.entity.MenuItem;
 import com.posdb.sync.entity.Restaurant;
 import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.SyncFailedException;
+import com.posdb.sync.metrics.SyncMetrics;
 import com.posdb.sync.repository.MenuItemRepository;
+import com.posdb.sync.repository.dto.MenuItemHashDto;
 import com.posdb.sync.utils.TextUtil;
+import io.micrometer.core.instrument.Timer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
-import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
 
@@ -24,25 +33,47 @@ import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
 @Slf4j
 public class MenuItemSyncService {
 
+    private static final String MENU_ITEMS = "MENU_ITEMS";
+
+    private static final String MENU_ITEMS_FULL = "MENU_ITEMS_FULL";
+
     @ConfigProperty(name = "pos.sync.batch.size", defaultValue = "500")
     Integer maxBatchSize;
 
+    @ConfigProperty(name = "pos.sync.errors.max", defaultValue = "50")
+    int maxErrors;
+
+    // a full sync carries the whole menu, so it has its own, larger limit
+    @ConfigProperty(name = "pos.sync.menu.full-sync.max-size", defaultValue = "5000")
+    Integer maxFullSyncSize;
+
     @Inject
     ApiKeyValidatorService apiKeyValidatorService;
 
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
     @Inject
     MenuItemRepository menuItemRepository;
 
+    @Inject
+    SyncMetrics syncMetrics;
+
+    @Inject
+    DashboardCacheService dashboardCacheService;
+
     @Transactional
+    @AdmissionControlled
     public SyncResponse syncMenuItems(MenuItemSyncRequest request, HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
 
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("MenuItemSyncService::syncMenuItems Subscription validation passed for  restaurant: {}", restaurant.getName());
+            Timer.Sample sample = syncMetrics.start();
 
 
-            StringBuilder failureMessage = new StringBuilder("\n........RestaurantName: " + restaurant.getName() + ".......\n.........MENU_ITEMS........\n ");
+            SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
 
             log.info("MenuItemSyncService::syncMenuItems Validated API Key for restaurant: {} with records:{}",
                     restaurant.getName(),request.getMenuItems() != null ? request.getMenuItems().size() : 0);
@@ -61,21 +92,24 @@ public class MenuItemSyncService {
             Result result = new Result(0, 0, 0);
 
             for (MenuItemData data : request.getMenuItems()) {
-                result = processMenuItemData(data, restaurant, failureMessage, result);
+                result = processMenuItemData(data, restaurant, errors, result);
             }
 
             if (result.failCount() > 0) {
                 log.warn("MenuItemSyncService::syncMenuItems Completed with failures for restaurant: {}. Success: {}, Failed: {}",
                         restaurant.getName(), result.successCount(), result.failCount());
-                throw new AppException("Menu item sync completed with some failures. Success: " + result.successCount()
-                        + ", Failed: " + result.failCount() + "..\n FailureMessages: " + failureMessage,
-                        Response.Status.INTERNAL_SERVER_ERROR);
+                throw new SyncFailedException("Menu item sync completed with some failures. Success: " + result.successCount()
+                        + ", Failed: " + result.failCount(), recordMetrics(sample, MENU_ITEMS, restaurant, request.getMenuItems().size(),
+                        new SyncResponse(request.getMenuItems().size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated())));
             }else {
                 log.info("MenuItemSyncService::syncMenuItems Successfully synced all menu items for restaurant: {}. Success: {}, Failed: {}",
                         restaurant.getName(), result.successCount(), result.failCount());
             }
 
-            return new SyncResponse(request.getMenuItems().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            // item names of the detailed reports
+            dashboardCacheService.invalidateRestaurant(restaurant.getId());
+            return recordMetrics(sample, MENU_ITEMS, restaurant, request.getMenuItems().size(),
+                    new SyncResponse(request.getMenuItems().size(), result.successCount(), 0));
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -86,7 +120,7 @@ public class MenuItemSyncService {
         }
     }
 
-    private Result processMenuItemData(MenuItemData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    private Result processMenuItemData(MenuItemData data, Restaurant restaurant, SyncErrorCollector errors, Result result) {
         try {
             int recordIndex = result.recordIndex() + 1;
             MenuItem menuItem = new MenuItem();
@@ -109,15 +143,14 @@ public class MenuItemSyncService {
             menuItem.setMenuItemInStock(data.getMenuItemInStock());
             menuItem.setMenuItemDiscountable(data.getMenuItemDiscountable());
             menuItem.setMenuItemType(data.getMenuItemType());
+            menuItem.setContentHash(contentHash(data));
             menuItem.persist();
             log.debug("MenuItemSyncService::processMenuItemData Successfully synced menu item at index: {}. MenuItemId: {}, restaurant: {}",
                     recordIndex, data.getMenuItemId(), restaurant.getName());
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex)
-                    .append(" MenuItemId: ").append(data.getMenuItemId())
-                    .append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getMenuItemId(), e);
             log.error("MenuItemSyncService::processMenuItemData. Failed to sync menu items. at index: {}. MenuItemId: {}, restaurant: {}",
                     recordIndex, data.getMenuItemId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
@@ -125,13 +158,15 @@ public class MenuItemSyncService {
     }
 
     @Transactional
+    @AdmissionControlled
     public SyncResponse fullSyncMenuItems(MenuItemSyncRequest request, HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("MenuItemSyncService::fullSyncMenuItems Subscription validation passed for  restaurant: {}", restaurant.getName());
+            Timer.Sample sample = syncMetrics.start();
 
-            StringBuilder failureMessage = new StringBuilder("\n........RestaurantName: " + restaurant.getName() + ".......\n.........MENU_ITEMS_FULL_SYNC........\n ");
+            SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
 
             log.info("MenuItemSyncService::fullSyncMenuItems Full sync request received for restaurant: {} with records:{}",
                     restaurant.getName(), request.getMenuItems() != null ? request.getMenuItems().size() : 0);
@@ -141,32 +176,70 @@ public class MenuItemSyncService {
                 throw new AppException("Menu items list is required", Response.Status.BAD_REQUEST);
             }
 
-            if (request.getMenuItems().size() > maxBatchSize) {
-                log.warn("MenuItemSyncService::fullSyncMenuItems Batch size {} exceeds maximum limit of {} for restaurant: {}",
-                        request.getMenuItems().size(), maxBatchSize, restaurant.getName());
+            if (request.getMenuItems().size() > maxFullSyncSize) {
+                log.warn("MenuItemSyncService::fullSyncMenuItems Menu size {} exceeds maximum full sync limit of {} for restaurant: {}",
+                        request.getMenuItems().size(), maxFullSyncSize, restaurant.getName());
                 throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
             }
 
-            Result result = new Result(0, 0, 0);
+            // Diff incoming items against the stored content hashes, only new and changed items are loaded and written
+            Map<Integer, MenuItemHashDto> storedHashes = menuItemRepository.findContentHashes(restaurant);
+            List<MenuItemData> menuItems = request.getMenuItems();
+            String[] contentHashes = new String[menuItems.size()];
+            boolean[] unchanged = new boolean[menuItems.size()];
+            Set<Integer> incomingIds = new HashSet<>();
+            Set<Integer> changedStoredIds = new HashSet<>();
+            for (int i = 0; i < menuItems.size(); i++) {
+                MenuItemData data = menuItems.get(i);
+                contentHashes[i] = contentHash(data);
+                if (data.getMenuItemId() == null) {
+                    continue;
+                }
+                incomingIds.add(data.getMenuItemId());
+                MenuItemHashDto stored = storedHashes.get(data.getMenuItemId());
+                unchanged[i] = stored != null && contentHashes[i].equals(stored.getContentHash());
+                if (stored != null && !unchanged[i]) {
+                    changedStoredIds.add(data.getMenuItemId());
+                }
+            }
 
-            for (MenuItemData data : request.getMenuItems()) {
-                result = processMenuItemDataUpsert(data, restaurant, failureMessage, result);
+            Map<Integer, MenuItem> existingMenuItems = menuItemRepository.findByRestaurantAndMenuItemIds(restaurant, changedStoredIds);
+
+            Result result = new Result(0, 0, 0);
+            int skippedCount = 0;
+
+            for (int i = 0; i < menuItems.size(); i++) {
+                if (unchanged[i]) {
+                    skippedCount++;
+                    result = new Result(result.successCount(), result.failCount(), result.recordIndex() + 1);
+                    continue;
+                }
+                result = processMenuItemDataUpsert(menuItems.get(i), contentHashes[i], restaurant, errors, result, existingMenuItems);
             }
 
             if (result.failCount() > 0) {
                 log.warn("MenuItemSyncService::fullSyncMenuItems Completed with failures for restaurant: {}. Success: {}, Failed: {}",
                         restaurant.getName(), result.successCount(), result.failCount());
-                throw new AppException("Menu item full sync completed with some failures. Success: " + result.successCount()
-                        + ", Failed: " + result.failCount() + "..\n FailureMessages: " + failureMessage,
-                        Response.Status.INTERNAL_SERVER_ERROR);
+                throw new SyncFailedException("Menu item full sync completed with some failures. Success: " + result.successCount()
+                        + ", Failed: " + result.failCount(), recordMetrics(sample, MENU_ITEMS_FULL, restaurant, menuItems.size(),
+                        new SyncResponse(menuItems.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated())));
             } else {
-                log.info("MenuItemSyncService::fullSyncMenuItems Successfully synced all menu items for restaurant: {}. Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(OffsetDateTime.now());
-                restaurant.persist();
+                // Items missing from the full menu were removed on the POS
+                List<Integer> vanishedIds = storedHashes.values().stream()
+                        .filter(stored -> !incomingIds.contains(stored.getMenuItemId()) && !Boolean.TRUE.equals(stored.getMenuItemInActive()))
+                        .map(MenuItemHashDto::getMenuItemId)
+                        .toList();
+                int inactivated = menuItemRepository.markInactive(restaurant, vanishedIds);
+                log.info("MenuItemSyncService::fullSyncMenuItems Successfully synced all menu items for restaurant: {}. Success: {}, Unchanged: {}, Inactivated: {}, Failed: {}",
+                        restaurant.getName(), result.successCount(), skippedCount, inactivated, result.failCount());
+                syncHeartbeatService.record(restaurant.getId());
             }
 
-            return new SyncResponse(request.getMenuItems().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            if (result.successCount() > 0) {
+                dashboardCacheService.invalidateRestaurant(restaurant.getId());
+            }
+            return recordMetrics(sample, MENU_ITEMS_FULL, restaurant, menuItems.size(),
+                    new SyncResponse(menuItems.size(), result.successCount(), skippedCount));
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -177,25 +250,25 @@ public class MenuItemSyncService {
         }
     }
 
-    private Result processMenuItemDataUpsert(MenuItemData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    private Result processMenuItemDataUpsert(MenuItemData data, String contentHash, Restaurant restaurant, SyncErrorCollector errors,
+                                             Result result, Map<Integer, MenuItem> existingMenuItems) {
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getMenuItemId())) || TextUtil.isEmpty(data.getMenuItemText())) {
+            if (data.getMenuItemId() == null || TextUtil.isEmpty(data.getMenuItemText())) {
                 log.warn("MenuItemSyncService::processMenuItemDataUpsert Missing required fields for menu item at index: {}. MenuItemId: {}, MenuItemText: {}",
                         recordIndex, data.getMenuItemId(), data.getMenuItemText());
                 throw new AppException("menuItemId and menuItemText are required for menu item. Index: " + recordIndex,
                         Response.Status.BAD_REQUEST);
             }
 
-            MenuItem menuItem = menuItemRepository.findByRestaurantAndMenuItemId(restaurant, data.getMenuItemId())
-                    .orElseGet(() -> {
-                        log.info("MenuItemSyncService::processMenuItemDataUpsert Creating new menu item. MenuItemId: {}, restaurant: {}",
-                                data.getMenuItemId(), restaurant.getName());
-                        MenuItem newItem = new MenuItem();
-                        newItem.setRestaurant(restaurant);
-                        newItem.setMenuItemId(data.getMenuItemId());
-                        return newItem;
-                    });
+            MenuItem menuItem = existingMenuItems.computeIfAbsent(data.getMenuItemId(), menuItemId -> {
+                log.info("MenuItemSyncService::processMenuItemDataUpsert Creating new menu item. MenuItemId: {}, restaurant: {}",
+                        menuItemId, restaurant.getName());
+                MenuItem newItem = new MenuItem();
+                newItem.setRestaurant(restaurant);
+                newItem.setMenuItemId(menuItemId);
+                return newItem;
+            });
 
             menuItem.setMenuItemText(data.getMenuItemText());
             menuItem.setMenuCategoryId(data.getMenuCategoryId());
@@ -208,6 +281,7 @@ public class MenuItemSyncService {
             menuItem.setMenuItemInStock(data.getMenuItemInStock());
             menuItem.setMenuItemDiscountable(data.getMenuItemDiscountable());
             menuItem.setMenuItemType(data.getMenuItemType());
+            menuItem.setContentHash(contentHash);
 
             menuItem.persist();
             log.debug("MenuItemSyncService::processMenuItemDataUpsert Upserted menu item at index: {}. MenuItemId: {}, restaurant: {}",
@@ -215,15 +289,41 @@ public class MenuItemSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex)
-                    .append(" MenuItemId: ").append(data.getMenuItemId())
-                    .append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getMenuItemId(), e);
             log.error("MenuItemSyncService::processMenuItemDataUpsert. Failed to upsert menu items. at index: {}. MenuItemId: {}, restaurant: {}",
                     recordIndex, data.getMenuItemId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
     }
 
+    /**
+     * Menu syncs write in the single transaction of the request, so the batch time is the DB time as well.
+     */
+    private SyncResponse recordMetrics(Timer.Sample sample, String entity, Restaurant restaurant, int size, SyncResponse response) {
+        syncMetrics.recordDb(sample, entity, restaurant.getId());
+        syncMetrics.recordBatch(sample, entity, restaurant.getId(), size, response);
+        return response;
+    }
+
+    /**
+     * SHA-256 over every synced field of the item except its id. Prices are normalized so 10.5 and 10.50 hash alike.
+     */
+    static String contentHash(MenuItemData data) {
+        String content = String.join("\u001f",
+                String.valueOf(data.getMenuItemText()),
+                String.valueOf(data.getMenuCategoryId()),
+                String.valueOf(data.getMenuGroupId()),
+                String.valueOf(data.getDisplayIndex()),
+                data.getDefaultUnitPrice() != null ? data.getDefaultUnitPrice().stripTrailingZeros().toPlainString() : "null",
+                String.valueOf(data.getMenuItemDescription()),
+                String.valueOf(data.getMenuItemNotification()),
+                String.valueOf(data.getMenuItemInActive()),
+                String.valueOf(data.getMenuItemInStock()),
+                String.valueOf(data.getMenuItemDiscountable()),
+                String.valueOf(data.getMenuItemType()));
+        return DigestUtils.sha256Hex(content);
+    }
+
     private record Result(int successCount, int failCount, int recordIndex) {
     }
 }
@@ -1,9 +1,12 @@
 package com.posdb.sync.service;
 
+import com.posdb.sync.admission.AdmissionControlled;
 import com.posdb.sync.dto.response.SyncResponse;
 import com.posdb.sync.dto.sync.*;
 import com.posdb.sync.entity.*;
+import com.posdb.sync.entity.enums.SyncEntityType;
 import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.SyncFailedException;
 import com.posdb.sync.repository.OnAccountChargeRepository;
 import com.posdb.sync.repository.OrderVoidLogRepository;
 import com.posdb.sync.utils.TextUtil;
@@ -16,6 +19,11 @@ import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
 
 @ApplicationScoped
@@ -25,16 +33,25 @@ public class OrderMiscSyncService {
     @ConfigProperty(name = "pos.sync.batch.size", defaultValue = "500")
     Integer maxBatchSize;
 
+    @ConfigProperty(name = "pos.sync.errors.max", defaultValue = "50")
+    int maxErrors;
+
     @Inject
     ApiKeyValidatorService apiKeyValidatorService;
 
+    @Inject
+    ChunkedSyncService chunkedSyncService;
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
     @Inject
     OrderVoidLogRepository orderVoidLogRepository;
 
     @Inject
     OnAccountChargeRepository onAccountChargeRepository;
 
-    @Transactional
+    @AdmissionControlled
     public SyncResponse syncOrderVoidLogs(OrderVoidLogSyncRequest request, @Context HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
@@ -42,39 +59,8 @@ public class OrderMiscSyncService {
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderMiscSyncService::syncOrderVoidLogs Subscription validation passed for restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("........RestaurantName: " + restaurant.getName() + ".......\n .........ORDER_VOID_LOGS........\n ");
-
-            log.info("OrderMiscSyncService:: Order void logs sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getOrderVoidLogs() != null ? request.getOrderVoidLogs().size() : 0);
-
-            if (request.getOrderVoidLogs() == null || request.getOrderVoidLogs().isEmpty()) {
-                log.warn("OrderMiscSyncService:: Empty order void logs list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("Order void logs list is required", Response.Status.BAD_REQUEST);
-            }
-
-            if (request.getOrderVoidLogs().size() > maxBatchSize) {
-                log.warn("OrderMiscSyncService:: Order void logs batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getOrderVoidLogs().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
-            }
-
-            Result result = new Result(0, 0, 0);
-            for (OrderVoidLogData data : request.getOrderVoidLogs()) {
-                result = processOrderVoidLogData(data, restaurant, failureMessage, result);
-            }
-
-            if (result.failCount() > 0) {
-                log.warn("OrderMiscSyncService:: Order void logs sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("Order void logs sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount()
-                        + "..\n FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderMiscSyncService:: Order void logs sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getOrderVoidLogs().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ORDER_VOID_LOGS, request, headers,
+                    request.getOrderVoidLogs(), this::syncOrderVoidLogs);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -86,21 +72,68 @@ public class OrderMiscSyncService {
         }
     }
 
-    private Result processOrderVoidLogData(OrderVoidLogData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    /**
+     * Sync body shared by the single entity endpoint and the unified POS sync, runs inside the caller's transaction.
+     * Any failed record ends in an {@link AppException}, lastSyncTime is not updated here.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncOrderVoidLogs(Restaurant restaurant, List<OrderVoidLogData> orderVoidLogs) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderMiscSyncService:: Order void logs sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), orderVoidLogs != null ? orderVoidLogs.size() : 0);
+
+        if (orderVoidLogs == null || orderVoidLogs.isEmpty()) {
+            log.warn("OrderMiscSyncService:: Empty order void logs list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Order void logs list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (orderVoidLogs.size() > maxBatchSize) {
+            log.warn("OrderMiscSyncService:: Order void logs batch size {} exceeds maximum {} for restaurantId: {}",
+                    orderVoidLogs.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
+        }
+
+        Map<Integer, OrderVoidLog> existingVoidLogs = orderVoidLogRepository.findByRestaurantAndAutoIds(restaurant,
+                orderVoidLogs.stream().map(OrderVoidLogData::getAutoId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Result result = new Result(0, 0, 0);
+        for (OrderVoidLogData data : orderVoidLogs) {
+            result = processOrderVoidLogData(data, restaurant, errors, result, existingVoidLogs);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderMiscSyncService:: Order void logs sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Order void logs sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(orderVoidLogs.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderMiscSyncService:: Order void logs sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+        }
+        dailySalesRollupService.refresh(restaurant, orderVoidLogs, OrderVoidLogData::getOrderId);
+        return new SyncResponse(orderVoidLogs.size(), result.successCount(), 0);
+    }
+
+    private Result processOrderVoidLogData(OrderVoidLogData data, Restaurant restaurant, SyncErrorCollector errors, Result result,
+                                           Map<Integer, OrderVoidLog> existingVoidLogs) {
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getOrderId()))) {
+            if (data.getOrderId() == null) {
                 log.warn("OrderMiscSyncService:: Missing orderId in order void log data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
                 throw new AppException("orderId is required for order void log. Index: " + recordIndex, Response.Status.BAD_REQUEST);
             }
 
-            OrderVoidLog voidLog = orderVoidLogRepository.findByRestaurantAndAutoId(restaurant, data.getAutoId())
-                    .orElseGet(() -> {
-                        OrderVoidLog newVoid = new OrderVoidLog();
-                        newVoid.setRestaurant(restaurant);
-                        newVoid.setAutoId(data.getAutoId());
-                        return newVoid;
-                    });
+            // Void logs without autoId can never be matched, each one is a new row
+            OrderVoidLog voidLog = data.getAutoId() != null ? existingVoidLogs.get(data.getAutoId()) : null;
+            if (voidLog == null) {
+                voidLog = new OrderVoidLog();
+                voidLog.setRestaurant(restaurant);
+                voidLog.setAutoId(data.getAutoId());
+                if (data.getAutoId() != null) {
+                    existingVoidLogs.put(data.getAutoId(), voidLog);
+                }
+            }
 
             boolean isNewRecord = voidLog.getId() == null;
 
@@ -121,13 +154,13 @@ public class OrderMiscSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex).append(" OrderId: ").append(data.getOrderId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getAutoId(), e);
             log.error("OrderMiscSyncService:: Failed to sync order void log. recordIndex: {} : orderId={}, restaurant={}", recordIndex, data.getOrderId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
     }
 
-    @Transactional
+    @AdmissionControlled
     public SyncResponse syncOnAccountCharges(OnAccountChargeSyncRequest request, @Context HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
@@ -135,39 +168,8 @@ public class OrderMiscSyncService {
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderMiscSyncService::syncOnAccountCharges Subscription validation passed for restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("........RestaurantName: " + restaurant.getName() + ".......\n .........ON_ACCOUNT_CHARGES........\n ");
-
-            log.info("OrderMiscSyncService:: On account charges sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getOnAccountCharges() != null ? request.getOnAccountCharges().size() : 0);
-
-            if (request.getOnAccountCharges() == null || request.getOnAccountCharges().isEmpty()) {
-                log.warn("OrderMiscSyncService:: Empty on account charges list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("On account charges list is required", Response.Status.BAD_REQUEST);
-            }
-
-            if (request.getOnAccountCharges().size() > maxBatchSize) {
-                log.warn("OrderMiscSyncService:: On account charges batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getOnAccountCharges().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
-            }
-
-            Result result = new Result(0, 0, 0);
-            for (OnAccountChargeData data : request.getOnAccountCharges()) {
-                result = processOnAccountChargeData(data, restaurant, failureMessage, result);
-            }
-
-            if (result.failCount() > 0) {
-                log.warn("OrderMiscSyncService:: On account charges sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("On account charges sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount()
-                        + "..\n FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderMiscSyncService:: On account charges sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getOnAccountCharges().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ON_ACCOUNT_CHARGES, request, headers,
+                    request.getOnAccountCharges(), this::syncOnAccountCharges);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -179,21 +181,63 @@ public class OrderMiscSyncService {
         }
     }
 
-    private Result processOnAccountChargeData(OnAccountChargeData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    /**
+     * Same contract as {@link #syncOrderVoidLogs(Restaurant, List)}, for on account charges.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncOnAccountCharges(Restaurant restaurant, List<OnAccountChargeData> onAccountCharges) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderMiscSyncService:: On account charges sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), onAccountCharges != null ? onAccountCharges.size() : 0);
+
+        if (onAccountCharges == null || onAccountCharges.isEmpty()) {
+            log.warn("OrderMiscSyncService:: Empty on account charges list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("On account charges list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (onAccountCharges.size() > maxBatchSize) {
+            log.warn("OrderMiscSyncService:: On account charges batch size {} exceeds maximum {} for restaurantId: {}",
+                    onAccountCharges.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
+        }
+
+        Map<Integer, OnAccountCharge> existingCharges = onAccountChargeRepository.findByRestaurantAndChargeIds(restaurant,
+                onAccountCharges.stream().map(OnAccountChargeData::getOrderChargeId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Result result = new Result(0, 0, 0);
+        for (OnAccountChargeData data : onAccountCharges) {
+            result = processOnAccountChargeData(data, restaurant, errors, result, existingCharges);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderMiscSyncService:: On account charges sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("On account charges sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(onAccountCharges.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderMiscSyncService:: On account charges sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+        }
+        dailySalesRollupService.refresh(restaurant, onAccountCharges, OnAccountChargeData::getOrderId);
+        return new SyncResponse(onAccountCharges.size(), result.successCount(), 0);
+    }
+
+    private Result processOnAccountChargeData(OnAccountChargeData data, Restaurant restaurant, SyncErrorCollector errors, Result result,
+                                              Map<Integer, OnAccountCharge> existingCharges) {
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getOrderId()))) {
-                log.warn("OrderMiscSyncService:: Missing orderId in on account charge data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
-                throw new AppException("orderId is required for on account charge. Index: " + recordIndex, Response.Status.BAD_REQUEST);
+            if (data.getOrderId() == null || data.getOrderChargeId() == null) {
+                log.warn("OrderMiscSyncService:: Missing orderId or orderChargeId in on account charge data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
+                throw new AppException("orderId and orderChargeId are required for on account charge. Index: " + recordIndex, Response.Status.BAD_REQUEST);
             }
 
-            OnAccountCharge charge = onAccountChargeRepository.findByRestaurantAndChargeId(restaurant, data.getOrderChargeId())
-                    .orElseGet(() -> {
-                        OnAccountCharge newCharge = new OnAccountCharge();
-                        newCharge.setRestaurant(restaurant);
-                        newCharge.setOrderChargeId(data.getOrderChargeId());
-                        return newCharge;
-                    });
+            OnAccountCharge charge = existingCharges.computeIfAbsent(data.getOrderChargeId(), orderChargeId -> {
+                OnAccountCharge newCharge = new OnAccountCharge();
+                newCharge.setRestaurant(restaurant);
+                newCharge.setOrderChargeId(orderChargeId);
+                return newCharge;
+            });
 
             boolean isNewRecord = charge.getId() == null;
             charge.setOrderChargeId(data.getOrderChargeId());
@@ -217,13 +261,13 @@ public class OrderMiscSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex).append(" OrderChargeId: ").append(data.getOrderChargeId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getOrderChargeId(), e);
             log.error("OrderMiscSyncService:: Failed to sync on account charge. recordIndex: {} : orderChargeId={}, restaurant={}", recordIndex, data.getOrderChargeId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
     }
 
-    @Transactional
+    @AdmissionControlled
     public SyncResponse syncCustomerFiles(CustomerFileSyncRequest request, @Context HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
@@ -231,39 +275,8 @@ public class OrderMiscSyncService {
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderMiscSyncService::syncCustomerFiles Subscription validation passed for restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("........RestaurantName: " + restaurant.getName() + ".......\n .........CUSTOMER_FILES........\n ");
-
-            log.info("OrderMiscSyncService:: Customer files sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getCustomerFiles() != null ? request.getCustomerFiles().size() : 0);
-
-            if (request.getCustomerFiles() == null || request.getCustomerFiles().isEmpty()) {
-                log.warn("OrderMiscSyncService:: Empty customer files list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("Customer files list is required", Response.Status.BAD_REQUEST);
-            }
-
-            if (request.getCustomerFiles().size() > maxBatchSize) {
-                log.warn("OrderMiscSyncService:: Customer files batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getCustomerFiles().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
-            }
-
-            Result result = new Result(0, 0, 0);
-            for (CustomerFileData data : request.getCustomerFiles()) {
-                result = processCustomerFileData(data, restaurant, failureMessage, result);
-            }
-
-            if (result.failCount() > 0) {
-                log.warn("OrderMiscSyncService:: Customer files sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("Customer files sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount()
-                        + "..\n FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderMiscSyncService:: Customer files sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getCustomerFiles().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.CUSTOMER_FILES, request, headers,
+                    request.getCustomerFiles(), this::syncCustomerFiles);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -275,7 +288,47 @@ public class OrderMiscSyncService {
         }
     }
 
-    private Result processCustomerFileData(CustomerFileData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    /**
+     * Same contract as {@link #syncOrderVoidLogs(Restaurant, List)}, for customer files.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncCustomerFiles(Restaurant restaurant, List<CustomerFileData> customerFiles) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderMiscSyncService:: Customer files sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), customerFiles != null ? customerFiles.size() : 0);
+
+        if (customerFiles == null || customerFiles.isEmpty()) {
+            log.warn("OrderMiscSyncService:: Empty customer files list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Customer files list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (customerFiles.size() > maxBatchSize) {
+            log.warn("OrderMiscSyncService:: Customer files batch size {} exceeds maximum {} for restaurantId: {}",
+                    customerFiles.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded.", Response.Status.BAD_REQUEST);
+        }
+
+        Result result = new Result(0, 0, 0);
+        for (CustomerFileData data : customerFiles) {
+            result = processCustomerFileData(data, restaurant, errors, result);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderMiscSyncService:: Customer files sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Customer files sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(customerFiles.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderMiscSyncService:: Customer files sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+        }
+        dailySalesRollupService.refreshCustomers(restaurant, customerFiles.stream()
+                .map(CustomerFileData::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        return new SyncResponse(customerFiles.size(), result.successCount(), 0);
+    }
+
+    private Result processCustomerFileData(CustomerFileData data, Restaurant restaurant, SyncErrorCollector errors, Result result) {
         try {
             int recordIndex = result.recordIndex() + 1;
             CustomerFile customerFile = new CustomerFile();
@@ -302,7 +355,7 @@ public class OrderMiscSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex).append(" CustomerId: ").append(data.getCustomerId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getCustomerId(), e);
             log.error("OrderMiscSyncService:: Failed to sync customer file. recordIndex: {} : customerId={}, restaurant={}", recordIndex, data.getCustomerId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
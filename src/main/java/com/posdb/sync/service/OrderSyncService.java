@@ -1,5 +1,10 @@
 package com.posdb.sync.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.posdb.sync.admission.AdmissionControlled;
+import com.posdb.sync.dto.response.StreamSyncResponse;
+import com.posdb.sync.dto.response.SyncError;
 import com.posdb.sync.dto.response.SyncResponse;
 import com.posdb.sync.dto.sync.*;
 import com.posdb.sync.entity.OrderHeader;
@@ -8,11 +13,14 @@ import com.posdb.sync.entity.OrderTransaction;
 import com.posdb.sync.entity.Restaurant;
 import com.posdb.sync.entity.enums.OrderStatusEnum;
 import com.posdb.sync.entity.enums.OrderTypeEnum;
+import com.posdb.sync.entity.enums.SyncEntityType;
 import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.SyncFailedException;
 import com.posdb.sync.repository.OrderHeaderRepository;
 import com.posdb.sync.repository.OrderPaymentRepository;
 import com.posdb.sync.repository.OrderTransactionRepository;
-import com.posdb.sync.utils.TextUtil;
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -22,6 +30,15 @@ import jakarta.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
 import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
 
 @ApplicationScoped
@@ -31,9 +48,27 @@ public class OrderSyncService {
     @ConfigProperty(name = "pos.sync.batch.size", defaultValue = "500")
     Integer maxBatchSize;
 
+    @ConfigProperty(name = "pos.sync.errors.max", defaultValue = "50")
+    int maxErrors;
+
+    @ConfigProperty(name = "pos.sync.order-transactions.copy-threshold", defaultValue = "250")
+    int copyThreshold;
+
     @Inject
     ApiKeyValidatorService apiKeyValidatorService;
 
+    @Inject
+    ChunkedSyncService chunkedSyncService;
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
+    @Inject
+    DashboardCacheService dashboardCacheService;
+
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
     @Inject
     OrderHeaderRepository orderHeaderRepository;
 
@@ -43,7 +78,10 @@ public class OrderSyncService {
     @Inject
     OrderTransactionRepository orderTransactionRepository;
 
-    @Transactional
+    @Inject
+    ObjectMapper objectMapper;
+
+    @AdmissionControlled
     public SyncResponse syncOrderHeaders(OrderHeaderSyncRequest request, HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
@@ -51,69 +89,182 @@ public class OrderSyncService {
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderSyncService::syncOrderHeaders Subscription validation passed for  restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("\n........RestaurantName: " + restaurant.getName() + ".......\n.........ORDER_HEADERS........\n ");
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ORDER_HEADERS, request, headers,
+                    request.getOrderHeaders(), this::syncOrderHeaders);
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("OrderSyncService::syncOrderHeaders API key validation failed: {}", e.getMessage());
+            throw new AppException("Invalid or missing API key .", Response.Status.UNAUTHORIZED);
+        } catch (Exception e) {
+            log.error("OrderSyncService::syncOrderHeaders Error syncing order headers", e);
+            throw new AppException("Failed to sync order headers. ", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
 
-            log.info("OrderSyncService:: Order header sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getOrderHeaders() != null ? request.getOrderHeaders().size() : 0);
+    /**
+     * Writes a batch of order headers for an already validated restaurant, joining the caller's transaction.
+     * Throws {@link AppException} when the batch is invalid or any record fails so the whole transaction rolls back.
+     * Updating {@code lastSyncTime} is left to the caller.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncOrderHeaders(Restaurant restaurant, List<OrderHeaderData> orderHeaders) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderSyncService:: Order header sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), orderHeaders != null ? orderHeaders.size() : 0);
+
+        if (orderHeaders == null || orderHeaders.isEmpty()) {
+            log.warn("OrderSyncService:: Empty order headers list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Order headers list is required", Response.Status.BAD_REQUEST);
+        }
 
-            if (request.getOrderHeaders() == null || request.getOrderHeaders().isEmpty()) {
-                log.warn("OrderSyncService:: Empty order headers list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("Order headers list is required", Response.Status.BAD_REQUEST);
-            }
+        if (orderHeaders.size() > maxBatchSize) {
+            log.warn("OrderSyncService:: Order headers batch size {} exceeds maximum {} for restaurantId: {}",
+                    orderHeaders.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded .", Response.Status.BAD_REQUEST);
+        }
 
-            if (request.getOrderHeaders().size() > maxBatchSize) {
-                log.warn("OrderSyncService:: Order headers batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getOrderHeaders().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded .", Response.Status.BAD_REQUEST);
-            }
+        Result result = new Result(0, 0, 0);
 
-            Result result = new Result(0, 0, 0);
+        // Validate and map every record first, then write the whole batch with a few multi-row upserts.
+        // A repeated orderId within the batch keeps its last occurrence, same as the old row by row updates.
+        Map<Integer, OrderHeader> headersByOrderId = new LinkedHashMap<>();
+        for (OrderHeaderData data : orderHeaders) {
+            result = processOrderHeaderData(data, restaurant, errors, result, headersByOrderId);
+        }
 
-            for (OrderHeaderData data : request.getOrderHeaders()) {
-               result = processOrderHeaderData(data, restaurant, failureMessage, result);
-            }
+        // Orders resent with the same editTimestamp and rowGuid are skipped by the upsert and reported separately
+        int skippedCount = 0;
+        if (result.failCount() == 0) {
+            List<OrderBusinessDateDto> previousOrderDates = dailySalesRollupService.orderDates(restaurant, orderHeaders, OrderHeaderData::getOrderId);
+            int written = orderHeaderRepository.upsertAll(restaurant, new ArrayList<>(headersByOrderId.values()));
+            dailySalesRollupService.refresh(restaurant, orderHeaders, OrderHeaderData::getOrderId, previousOrderDates);
+            skippedCount = headersByOrderId.size() - written;
+            log.debug("OrderSyncService:: Order headers upserted: {} rows, unchanged: {} for {} records, restaurantId={}",
+                    written, skippedCount, orderHeaders.size(), restaurant.getName());
+        }
 
-            if (result.failCount() > 0) {
-                log.warn("OrderSyncService:: Order header sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("Order header sync completed with some failures. Success: " + result.successCount() + " , Failed: " + result.failCount()
-                        + ".. FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderSyncService:: Order header sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getOrderHeaders().size(), result.successCount(), result.failCount(), failureMessage.toString());
+        if (result.failCount() > 0) {
+            log.warn("OrderSyncService:: Order header sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Order header sync completed with some failures. Success: " + result.successCount() + " , Failed: " + result.failCount(),
+                    new SyncResponse(orderHeaders.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderSyncService:: Order header sync completed successfully for restaurantId: {} - Success: {}, Skipped: {}, Failed: {}",
+                    restaurant.getName(), result.successCount() - skippedCount, skippedCount, result.failCount());
+        }
+        return new SyncResponse(orderHeaders.size(), result.successCount() - skippedCount, skippedCount);
+    }
+
+    /**
+     * Streams order headers from an NDJSON body (one OrderHeaderData per line) and commits them in chunks of
+     * {@code pos.sync.batch.size} records, each chunk in its own transaction. Records are parsed one at a time,
+     * so only the current chunk is held in memory whatever the upload size.
+     * A chunk that fails is retried record by record through {@link ChunkedSyncService}, records that still fail
+     * are dead-lettered and reported in the errors while the stream goes on, so a bad record cannot block the cursor.
+     * The first {@code cursor} records of the stream are skipped, an interrupted upload is resumed by sending
+     * the same stream again with the cursor of the last response.
+     */
+    @AdmissionControlled
+    public StreamSyncResponse streamOrderHeaders(InputStream body, long cursor, HttpHeaders headers) {
+        UUID restaurantId;
+        try {
+            String apiKey = headers.getHeaderString(API_KEY);
+            restaurantId = QuarkusTransaction.requiringNew()
+                    .call(() -> apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey).getId());
+            log.info("OrderSyncService::streamOrderHeaders Subscription validation passed for restaurantId: {}, cursor: {}", restaurantId, cursor);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
-            log.warn("OrderSyncService::syncOrderHeaders API key validation failed: {}", e.getMessage());
+            log.warn("OrderSyncService::streamOrderHeaders API key validation failed: {}", e.getMessage());
             throw new AppException("Invalid or missing API key .", Response.Status.UNAUTHORIZED);
+        }
+
+        long position = 0;
+        StreamProgress progress = new StreamProgress(cursor, new SyncErrorCollector(maxErrors));
+        String failureDetails = null;
+        List<OrderHeaderData> chunk = new ArrayList<>(maxBatchSize);
+        try (MappingIterator<OrderHeaderData> records = objectMapper.readerFor(OrderHeaderData.class).readValues(body)) {
+            while (records.hasNextValue()) {
+                OrderHeaderData data = records.nextValue();
+                if (position++ < cursor) {
+                    continue;
+                }
+                chunk.add(data);
+                if (chunk.size() == maxBatchSize) {
+                    progress.committed(chunk.size(), commitOrderHeaderChunk(restaurantId, chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                progress.committed(chunk.size(), commitOrderHeaderChunk(restaurantId, chunk));
+            }
+        } catch (AppException e) {
+            failureDetails = e.getMessage();
         } catch (Exception e) {
-            log.error("OrderSyncService::syncOrderHeaders Error syncing order headers", e);
-            throw new AppException("Failed to sync order headers. ", Response.Status.INTERNAL_SERVER_ERROR);
+            log.error("OrderSyncService::streamOrderHeaders Error reading order header stream for restaurantId: {}", restaurantId, e);
+            failureDetails = "Failed to read order header stream at record " + position + ". Error: " + e.getMessage();
+        }
+
+        long committedRecords = progress.cursor - cursor;
+        if (committedRecords > progress.failedRecords) {
+            syncHeartbeatService.record(restaurantId);
+        }
+        log.info("OrderSyncService:: Order header stream finished for restaurantId: {} - Committed: {} records in {} chunks, failed: {}, cursor: {}, completed: {}",
+                restaurantId, committedRecords, progress.chunks, progress.failedRecords, progress.cursor, failureDetails == null);
+        return new StreamSyncResponse(committedRecords, progress.chunks, progress.cursor, failureDetails == null, failureDetails,
+                progress.failedRecords, progress.errors.getErrors(), progress.errorsTruncated || progress.errors.isTruncated());
+    }
+
+    private SyncResponse commitOrderHeaderChunk(UUID restaurantId, List<OrderHeaderData> chunk) {
+        return chunkedSyncService.syncInChunks(restaurantId, SyncEntityType.ORDER_HEADERS, chunk, maxBatchSize, this::syncOrderHeaders);
+    }
+
+    /**
+     * Committed chunks of an order header stream. Error indexes of a chunk are turned into positions in the stream.
+     */
+    private static final class StreamProgress {
+        private final SyncErrorCollector errors;
+        private long cursor;
+        private int chunks;
+        private int failedRecords;
+        private boolean errorsTruncated;
+
+        private StreamProgress(long cursor, SyncErrorCollector errors) {
+            this.cursor = cursor;
+            this.errors = errors;
+        }
+
+        private void committed(int size, SyncResponse response) {
+            for (SyncError error : response.getErrors()) {
+                error.setIndex((int) Math.min(cursor + error.getIndex(), Integer.MAX_VALUE));
+                errors.add(error);
+            }
+            errorsTruncated |= response.getErrorsTruncated();
+            failedRecords += response.getFailedRecords();
+            cursor += size;
+            chunks++;
         }
     }
 
-    private Result processOrderHeaderData(OrderHeaderData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    private Result processOrderHeaderData(OrderHeaderData data, Restaurant restaurant, SyncErrorCollector errors, Result result,
+                                          Map<Integer, OrderHeader> headersByOrderId) {
 
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getOrderId()))) {
+            if (data.getOrderId() == null) {
                 log.warn("OrderSyncService:: Missing orderId in order header data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
                 throw new AppException("orderId is required for order header. Index: " + recordIndex, Response.Status.BAD_REQUEST);
             }
-            OrderHeader headerEntity = orderHeaderRepository.findByRestaurantAndOrderId(restaurant, data.getOrderId())
-                    .orElseGet(() -> {
-                        OrderHeader newHeader = new OrderHeader();
-                        newHeader.setRestaurant(restaurant);
-                        newHeader.setOrderId(data.getOrderId());
-                        return newHeader;
-                    });
-
-            boolean isNewRecord = headerEntity.getId() == null;
+            // Checked here so a single bad record cannot fail the multi-row upsert statement for the whole batch
+            if (data.getOrderDateTime() == null || data.getEditTimestamp() == null) {
+                log.warn("OrderSyncService:: Missing orderDateTime or editTimestamp in order header data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
+                throw new AppException("orderDateTime and editTimestamp are required for order header. Index: " + recordIndex, Response.Status.BAD_REQUEST);
+            }
 
+            OrderHeader headerEntity = new OrderHeader();
+            headerEntity.setRestaurant(restaurant);
             headerEntity.setOrderId(data.getOrderId());
             headerEntity.setOrderDateTime(data.getOrderDateTime());
             headerEntity.setEmployeeId(data.getEmployeeId());
@@ -149,62 +300,27 @@ public class OrderSyncService {
             headerEntity.setEditTimestamp(data.getEditTimestamp());
             headerEntity.setRowGuid(data.getRowGuid());
 
-            if (isNewRecord) {
-                headerEntity.persist();
-                log.debug("OrderSyncService:: Order header inserted: orderId={}, restaurantId={}", data.getOrderId(), restaurant.getName());
-            } else {
-                log.debug("OrderSyncService:: Order header updated: orderId={}, restaurantId={}", data.getOrderId(), restaurant.getName());
-            }
+            headersByOrderId.remove(data.getOrderId());
+            headersByOrderId.put(data.getOrderId(), headerEntity);
 
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex : ").append(recordIndex).append(" OrderId: ").append(data.getOrderId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getOrderId(), e);
             log.error("OrderSyncService:: Failed to sync order header. recordIndex: {} : orderId={}, restaurant={}", recordIndex, data.getOrderId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
     }
 
-    @Transactional
+    @AdmissionControlled
     public SyncResponse syncOrderPayments(OrderPaymentSyncRequest request, @Context HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderSyncService::syncOrderPayments Subscription validation passed for  restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("........RestaurantName: " + restaurant.getName() + ".......\n .........ORDER_PAYMENTS........\n ");
-
-            log.info("OrderSyncService:: Order payment sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getOrderPayments() != null ? request.getOrderPayments().size() : 0);
-
-            if (request.getOrderPayments() == null || request.getOrderPayments().isEmpty()) {
-                log.warn("OrderSyncService:: Empty order payments list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("Order payments list is required", Response.Status.BAD_REQUEST);
-            }
-
-            if (request.getOrderPayments().size() > maxBatchSize) {
-                log.warn("OrderSyncService:: Order payments batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getOrderPayments().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
-            }
-
-            Result result = new Result(0, 0,0);
-            for (OrderPaymentData data : request.getOrderPayments()) {
-                result = processOrderPaymentData(data, restaurant, failureMessage, result);
-            }
-
-            if (result.failCount() > 0) {
-                log.warn("OrderSyncService:: Order payment sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("Order payment sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount()
-                        + "..\n FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderSyncService:: Order payment sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getOrderPayments().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ORDER_PAYMENTS, request, headers,
+                    request.getOrderPayments(), this::syncOrderPayments);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -216,21 +332,63 @@ public class OrderSyncService {
         }
     }
 
-    private Result processOrderPaymentData(OrderPaymentData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    /**
+     * Same contract as {@link #syncOrderHeaders(Restaurant, List)}, for order payments.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncOrderPayments(Restaurant restaurant, List<OrderPaymentData> orderPayments) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderSyncService:: Order payment sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), orderPayments != null ? orderPayments.size() : 0);
+
+        if (orderPayments == null || orderPayments.isEmpty()) {
+            log.warn("OrderSyncService:: Empty order payments list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Order payments list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (orderPayments.size() > maxBatchSize) {
+            log.warn("OrderSyncService:: Order payments batch size {} exceeds maximum {} for restaurantId: {}",
+                    orderPayments.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
+        }
+
+        Map<Integer, OrderPayment> existingPayments = orderPaymentRepository.findByRestaurantAndOrderPaymentIds(restaurant,
+                orderPayments.stream().map(OrderPaymentData::getOrderPaymentId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Result result = new Result(0, 0,0);
+        for (OrderPaymentData data : orderPayments) {
+            result = processOrderPaymentData(data, restaurant, errors, result, existingPayments);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderSyncService:: Order payment sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Order payment sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(orderPayments.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderSyncService:: Order payment sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+        }
+        dailySalesRollupService.refresh(restaurant, orderPayments, OrderPaymentData::getOrderId);
+        return new SyncResponse(orderPayments.size(), result.successCount(), 0);
+    }
+
+    private Result processOrderPaymentData(OrderPaymentData data, Restaurant restaurant, SyncErrorCollector errors, Result result,
+                                           Map<Integer, OrderPayment> existingPayments) {
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getOrderId())) || TextUtil.isEmpty(String.valueOf(data.getOrderPaymentId()))) {
+            if (data.getOrderId() == null || data.getOrderPaymentId() == null) {
                 log.warn("OrderSyncService:: Missing orderId or PaymentId in order payment data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
                 throw new AppException("orderId or PaymentId is required for order payment. Index: " + recordIndex, Response.Status.BAD_REQUEST);
             }
 
-            OrderPayment payment = orderPaymentRepository.findByRestaurantAndOrderPaymentId(restaurant, data.getOrderPaymentId())
-                    .orElseGet(() -> {
-                        OrderPayment newPayment = new OrderPayment();
-                        newPayment.setRestaurant(restaurant);
-                        newPayment.setOrderPaymentId(data.getOrderPaymentId());
-                        return newPayment;
-                    });
+            OrderPayment payment = existingPayments.computeIfAbsent(data.getOrderPaymentId(), orderPaymentId -> {
+                OrderPayment newPayment = new OrderPayment();
+                newPayment.setRestaurant(restaurant);
+                newPayment.setOrderPaymentId(orderPaymentId);
+                return newPayment;
+            });
 
             boolean isNewRecord = payment.getId() == null;
 
@@ -255,13 +413,13 @@ public class OrderSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex).append(" OrderId: ").append(data.getOrderId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getOrderPaymentId(), e);
             log.error("OrderSyncService:: Failed to sync order payment. recordIndex: {} : orderId={}, restaurant={}", recordIndex, data.getOrderId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
     }
 
-    @Transactional
+    @AdmissionControlled
     public SyncResponse syncOrderTransactions(OrderTransactionSyncRequest request, @Context HttpHeaders headers) {
         try {
             String apiKey = headers.getHeaderString(API_KEY);
@@ -269,39 +427,12 @@ public class OrderSyncService {
             Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
             log.info("OrderSyncService::syncOrderTransactions Subscription validation passed for  restaurant: {}", restaurant.getName());
 
-            StringBuilder failureMessage = new StringBuilder("........RestaurantName: " + restaurant.getName() + ".......\n .........ORDER_TRANSACTIONS........\n ");
-
-            log.info("OrderSyncService:: Order transaction sync request received for restaurantId: {} with {} records",
-                    restaurant.getName(), request.getOrderTransactions() != null ? request.getOrderTransactions().size() : 0);
-
-            if (request.getOrderTransactions() == null || request.getOrderTransactions().isEmpty()) {
-                log.warn("OrderSyncService:: Empty order transactions list in sync request for restaurantId: {}", restaurant.getName());
-                throw new AppException("Order transactions list is required", Response.Status.BAD_REQUEST);
-            }
-
-            if (request.getOrderTransactions().size() > maxBatchSize) {
-                log.warn("OrderSyncService:: Order transactions batch size {} exceeds maximum {} for restaurantId: {}",
-                        request.getOrderTransactions().size(), maxBatchSize, restaurant.getName());
-                throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
+            if (isCopyIngest(request)) {
+                return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ORDER_TRANSACTIONS, request, headers,
+                        request.getOrderTransactions(), ChunkedSyncService.WHOLE_BATCH, this::copyOrderTransactions);
             }
-
-            Result result = new Result(0, 0,0);
-            for (OrderTransactionData data : request.getOrderTransactions()) {
-                result = processOrderTransactionData(data, restaurant, failureMessage, result);
-            }
-
-            if (result.failCount() > 0) {
-                log.warn("OrderSyncService:: Order transaction sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}. Failure details: {}",
-                        restaurant.getName(), result.successCount(), result.failCount(), failureMessage);
-                throw new AppException("Order transaction sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount()
-                        + "..\n FailureMessages: " + failureMessage, Response.Status.INTERNAL_SERVER_ERROR);
-            } else {
-                log.info("OrderSyncService:: Order transaction sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
-                        restaurant.getName(), result.successCount(), result.failCount());
-                restaurant.setLastSyncTime(java.time.OffsetDateTime.now());
-                restaurant.persist();
-            }
-            return new SyncResponse(request.getOrderTransactions().size(), result.successCount(), result.failCount(), failureMessage.toString());
+            return chunkedSyncService.syncBatch(restaurant, SyncEntityType.ORDER_TRANSACTIONS, request, headers,
+                    request.getOrderTransactions(), this::syncOrderTransactions);
         } catch (AppException e) {
             throw e;
         } catch (IllegalArgumentException e) {
@@ -313,21 +444,127 @@ public class OrderSyncService {
         }
     }
 
-    private Result processOrderTransactionData(OrderTransactionData data, Restaurant restaurant, StringBuilder failureMessage, Result result) {
+    /**
+     * Same contract as {@link #syncOrderHeaders(Restaurant, List)}, for order transactions.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse syncOrderTransactions(Restaurant restaurant, List<OrderTransactionData> orderTransactions) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderSyncService:: Order transaction sync request received for restaurantId: {} with {} records",
+                restaurant.getName(), orderTransactions != null ? orderTransactions.size() : 0);
+
+        if (orderTransactions == null || orderTransactions.isEmpty()) {
+            log.warn("OrderSyncService:: Empty order transactions list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Order transactions list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (orderTransactions.size() > maxBatchSize) {
+            log.warn("OrderSyncService:: Order transactions batch size {} exceeds maximum {} for restaurantId: {}",
+                    orderTransactions.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
+        }
+
+        Map<Integer, OrderTransaction> existingTransactions = orderTransactionRepository.findByRestaurantAndOrderTransactionIds(restaurant,
+                orderTransactions.stream().map(OrderTransactionData::getOrderTransactionId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Result result = new Result(0, 0,0);
+        for (OrderTransactionData data : orderTransactions) {
+            result = processOrderTransactionData(data, restaurant, errors, result, existingTransactions);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderSyncService:: Order transaction sync failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Order transaction sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(orderTransactions.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        } else {
+            log.info("OrderSyncService:: Order transaction sync completed successfully for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+        }
+        dashboardCacheService.invalidateOrders(restaurant, orderTransactions, OrderTransactionData::getOrderId);
+        return new SyncResponse(orderTransactions.size(), result.successCount(), 0);
+    }
+
+    /**
+     * Whether the request's order transactions are written with {@link #copyOrderTransactions}: the request asks for
+     * COPY ingest or carries at least {@code pos.sync.order-transactions.copy-threshold} records. COPY pays off per
+     * statement, so such a batch is written in one chunk ({@link ChunkedSyncService#WHOLE_BATCH}) and only retried
+     * record by record when that chunk fails.
+     */
+    public boolean isCopyIngest(OrderTransactionSyncRequest request) {
+        int size = request.getOrderTransactions() != null ? request.getOrderTransactions().size() : 0;
+        return Boolean.TRUE.equals(request.getCopyIngest()) || size >= copyThreshold;
+    }
+
+    /**
+     * Same contract as {@link #syncOrderTransactions(Restaurant, List)}, but writes the batch with COPY into the
+     * staging table and a single set-based merge instead of persisting entities. A repeated orderTransactionId within
+     * the batch keeps its last occurrence. Transactions resent unchanged are reported as skipped.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public SyncResponse copyOrderTransactions(Restaurant restaurant, List<OrderTransactionData> orderTransactions) {
+        SyncErrorCollector errors = new SyncErrorCollector(maxErrors);
+
+        log.info("OrderSyncService:: Order transaction COPY ingest received for restaurantId: {} with {} records",
+                restaurant.getName(), orderTransactions != null ? orderTransactions.size() : 0);
+
+        if (orderTransactions == null || orderTransactions.isEmpty()) {
+            log.warn("OrderSyncService:: Empty order transactions list in sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("Order transactions list is required", Response.Status.BAD_REQUEST);
+        }
+
+        if (orderTransactions.size() > maxBatchSize) {
+            log.warn("OrderSyncService:: Order transactions batch size {} exceeds maximum {} for restaurantId: {}",
+                    orderTransactions.size(), maxBatchSize, restaurant.getName());
+            throw new AppException("Maximum batch size exceeded", Response.Status.BAD_REQUEST);
+        }
+
+        Map<Integer, OrderTransactionData> transactionsById = new LinkedHashMap<>();
+        Result result = new Result(0, 0, 0);
+        for (OrderTransactionData data : orderTransactions) {
+            int recordIndex = result.recordIndex() + 1;
+            if (data.getOrderTransactionId() == null || data.getOrderId() == null) {
+                log.warn("OrderSyncService:: Missing orderTransactionId or orderId in order transaction data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
+                errors.add(recordIndex, data.getOrderTransactionId(), new AppException(
+                        "orderTransactionId and orderId are required for order transaction. Index: " + recordIndex, Response.Status.BAD_REQUEST));
+                result = new Result(result.successCount(), result.failCount() + 1, recordIndex);
+                continue;
+            }
+            transactionsById.put(data.getOrderTransactionId(), data);
+            result = new Result(result.successCount() + 1, result.failCount(), recordIndex);
+        }
+
+        if (result.failCount() > 0) {
+            log.warn("OrderSyncService:: Order transaction COPY ingest failed with some failures for restaurantId: {} - Success: {}, Failed: {}",
+                    restaurant.getName(), result.successCount(), result.failCount());
+            throw new SyncFailedException("Order transaction sync completed with some failures. Success: " + result.successCount() + ", Failed: " + result.failCount(),
+                    new SyncResponse(orderTransactions.size(), 0, result.failCount(), 0, errors.getErrors(), errors.isTruncated()));
+        }
+
+        int written = orderTransactionRepository.copyMerge(restaurant, new ArrayList<>(transactionsById.values()));
+        int skippedCount = transactionsById.size() - written;
+        log.info("OrderSyncService:: Order transaction COPY ingest completed for restaurantId: {} - Written: {}, Skipped: {}",
+                restaurant.getName(), written, skippedCount);
+        dashboardCacheService.invalidateOrders(restaurant, orderTransactions, OrderTransactionData::getOrderId);
+        return new SyncResponse(orderTransactions.size(), orderTransactions.size() - skippedCount, skippedCount);
+    }
+
+    private Result processOrderTransactionData(OrderTransactionData data, Restaurant restaurant, SyncErrorCollector errors, Result result,
+                                               Map<Integer, OrderTransaction> existingTransactions) {
         try {
             int recordIndex = result.recordIndex() + 1;
-            if (TextUtil.isEmpty(String.valueOf(data.getOrderTransactionId())) || TextUtil.isEmpty(String.valueOf(data.getOrderId()))) {
+            if (data.getOrderTransactionId() == null || data.getOrderId() == null) {
                 log.warn("OrderSyncService:: Missing orderTransactionId or orderId in order transaction data for restaurantId: {}, Index: {}", restaurant.getName(), recordIndex);
                 throw new AppException("orderTransactionId and orderId are required for order transaction. Index: " + recordIndex, Response.Status.BAD_REQUEST);
             }
 
-            OrderTransaction transaction = orderTransactionRepository.findByRestaurantAndOrderTransactionId(restaurant, data.getOrderTransactionId())
-                    .orElseGet(() -> {
-                        OrderTransaction newTransaction = new OrderTransaction();
-                        newTransaction.setRestaurant(restaurant);
-                        newTransaction.setOrderTransactionId(data.getOrderTransactionId());
-                        return newTransaction;
-                    });
+            OrderTransaction transaction = existingTransactions.computeIfAbsent(data.getOrderTransactionId(), orderTransactionId -> {
+                OrderTransaction newTransaction = new OrderTransaction();
+                newTransaction.setRestaurant(restaurant);
+                newTransaction.setOrderTransactionId(orderTransactionId);
+                return newTransaction;
+            });
 
             boolean isNewRecord = transaction.getId() == null;
 
@@ -353,7 +590,7 @@ public class OrderSyncService {
             return new Result(result.successCount() + 1, result.failCount(), recordIndex);
         } catch (Exception e) {
             int recordIndex = result.recordIndex() + 1;
-            failureMessage.append("Failure at recordIndex: ").append(recordIndex).append(" OrderTransactionId: ").append(data.getOrderTransactionId()).append(". Error: ").append(e.getMessage()).append("\n");
+            errors.add(recordIndex, data.getOrderTransactionId(), e);
             log.error("OrderSyncService:: Failed to sync order transaction. recordIndex: {} : orderTransactionId={}, restaurant={}", recordIndex, data.getOrderTransactionId(), restaurant.getName(), e);
             return new Result(result.successCount(), result.failCount() + 1, recordIndex);
         }
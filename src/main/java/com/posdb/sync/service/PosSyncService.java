@@ -0,0 +1,148 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.admission.AdmissionControlled;
+import com.posdb.sync.dto.response.PosSyncResponse;
+import com.posdb.sync.dto.response.SyncResponse;
+import com.posdb.sync.dto.sync.PosSyncRequest;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.SyncFailedException;
+import com.posdb.sync.metrics.SyncMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+
+@ApplicationScoped
+@Slf4j
+public class PosSyncService {
+
+    @Inject
+    ApiKeyValidatorService apiKeyValidatorService;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Inject
+    OrderSyncService orderSyncService;
+
+    @Inject
+    OrderMiscSyncService orderMiscSyncService;
+
+    @Inject
+    SyncWatermarkService syncWatermarkService;
+
+    @Inject
+    SyncMetrics syncMetrics;
+
+    @Inject
+    DailySalesRollupService dailySalesRollupService;
+
+    /**
+     * Syncs every entity list of one POS sync cycle in a single transaction.
+     * Lists are written in dependency order (headers before their transactions and payments, customers before
+     * their charges), missing or empty lists are skipped. A failure in any list rolls back the whole cycle.
+     */
+    @Transactional
+    @AdmissionControlled
+    public PosSyncResponse sync(PosSyncRequest request, HttpHeaders headers) {
+        try {
+            String apiKey = headers.getHeaderString(API_KEY);
+
+            Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
+            log.info("PosSyncService::sync Subscription validation passed for restaurant: {}", restaurant.getName());
+
+            return idempotencyService.replayOrRun(restaurant, SyncEntityType.POS_SYNC, request, headers, PosSyncResponse.class, () -> {
+                PosSyncResponse response = sync(restaurant, request);
+
+                log.info("PosSyncService:: POS sync completed successfully for restaurantId: {}", restaurant.getName());
+                syncHeartbeatService.record(restaurant.getId());
+                return response;
+            });
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("PosSyncService::sync API key validation failed: {}", e.getMessage());
+            throw new AppException("Invalid or missing API key.", Response.Status.UNAUTHORIZED);
+        } catch (Exception e) {
+            log.error("PosSyncService::sync Error syncing POS data", e);
+            throw new AppException("Failed to sync POS data.", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Writes one sync cycle for an already validated restaurant inside the caller's transaction,
+     * used by {@link #sync(PosSyncRequest, HttpHeaders)} and by queued sync jobs. The batch is all or nothing, so the
+     * watermarks are raised to the whole batch. lastSyncTime is left to the caller.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public PosSyncResponse sync(Restaurant restaurant, PosSyncRequest request) {
+        if (isEmpty(request.getOrderHeaders()) && isEmpty(request.getOrderTransactions()) && isEmpty(request.getOrderPayments())
+                && isEmpty(request.getCustomerFiles()) && isEmpty(request.getOnAccountCharges()) && isEmpty(request.getOrderVoidLogs())) {
+            log.warn("PosSyncService:: Empty sync request for restaurantId: {}", restaurant.getName());
+            throw new AppException("At least one entity list is required", Response.Status.BAD_REQUEST);
+        }
+
+        // the rollup dates of all lists are locked and recomputed once, after the last list
+        dailySalesRollupService.deferRefreshes();
+        PosSyncResponse response = new PosSyncResponse();
+        if (!isEmpty(request.getOrderHeaders())) {
+            response.setOrderHeaders(write(restaurant, SyncEntityType.ORDER_HEADERS, request.getOrderHeaders(), orderSyncService::syncOrderHeaders));
+        }
+        if (!isEmpty(request.getOrderTransactions())) {
+            response.setOrderTransactions(write(restaurant, SyncEntityType.ORDER_TRANSACTIONS, request.getOrderTransactions(), orderSyncService::syncOrderTransactions));
+        }
+        if (!isEmpty(request.getOrderPayments())) {
+            response.setOrderPayments(write(restaurant, SyncEntityType.ORDER_PAYMENTS, request.getOrderPayments(), orderSyncService::syncOrderPayments));
+        }
+        if (!isEmpty(request.getCustomerFiles())) {
+            response.setCustomerFiles(write(restaurant, SyncEntityType.CUSTOMER_FILES, request.getCustomerFiles(), orderMiscSyncService::syncCustomerFiles));
+        }
+        if (!isEmpty(request.getOnAccountCharges())) {
+            response.setOnAccountCharges(write(restaurant, SyncEntityType.ON_ACCOUNT_CHARGES, request.getOnAccountCharges(), orderMiscSyncService::syncOnAccountCharges));
+        }
+        if (!isEmpty(request.getOrderVoidLogs())) {
+            response.setOrderVoidLogs(write(restaurant, SyncEntityType.ORDER_VOID_LOGS, request.getOrderVoidLogs(), orderMiscSyncService::syncOrderVoidLogs));
+        }
+        dailySalesRollupService.refreshDeferred(restaurant);
+        return response;
+    }
+
+    /**
+     * Writes one entity list of the cycle, raises its watermark and records its batch metrics. The entity lists share
+     * the cycle's transaction, so the time of each list is its DB time too. A list recorded as written is still rolled
+     * back when a later list of the cycle fails.
+     */
+    private <D> SyncResponse write(Restaurant restaurant, SyncEntityType entityType, List<D> records,
+                                   BiFunction<Restaurant, List<D>, SyncResponse> writer) {
+        Timer.Sample sample = syncMetrics.start();
+        SyncResponse response = null;
+        try {
+            response = writer.apply(restaurant, records);
+            syncWatermarkService.advance(restaurant.getId(), entityType, records, List.of());
+            return response;
+        } catch (SyncFailedException e) {
+            response = e.getResponse();
+            throw e;
+        } finally {
+            syncMetrics.recordDb(sample, entityType.name(), restaurant.getId());
+            syncMetrics.recordBatch(sample, entityType.name(), restaurant.getId(), records.size(), response);
+        }
+    }
+
+    private static boolean isEmpty(List<?> list) {
+        return list == null || list.isEmpty();
+    }
+}
@@ -0,0 +1,174 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.RequestCaptureResponse;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.exception.AppException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Opt-in capture of POS request bodies for troubleshooting, replacing the old log-every-body behaviour.
+ * A request is captured when its restaurant was switched on through the admin API or when it falls into the
+ * configured sample rate. Captures keep at most {@code pos.sync.capture.max-bytes} of the body and live in a small
+ * in-memory ring buffer per restaurant (per instance, lost on restart). With capture off nothing is buffered.
+ */
+@ApplicationScoped
+@Slf4j
+public class RequestCaptureService {
+
+    @ConfigProperty(name = "pos.sync.capture.sample-rate", defaultValue = "0")
+    double sampleRate;
+
+    @ConfigProperty(name = "pos.sync.capture.max-bytes", defaultValue = "16384")
+    int maxBytes;
+
+    @ConfigProperty(name = "pos.sync.capture.per-restaurant", defaultValue = "20")
+    int perRestaurant;
+
+    @ConfigProperty(name = "pos.sync.capture.max-restaurants", defaultValue = "100")
+    int maxRestaurants;
+
+    private final Set<String> enabledFingerprints = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Deque<Capture>> captures = new ConcurrentHashMap<>();
+
+    private record Capture(Instant capturedAt, String fingerprint, String method, String path, MediaType mediaType,
+                           byte[] body, boolean truncated) {
+    }
+
+    /**
+     * Cheap check for the request filter, false means the body must be passed through untouched.
+     */
+    public boolean isActive() {
+        return sampleRate > 0 || !enabledFingerprints.isEmpty();
+    }
+
+    /**
+     * Decides whether this request is captured, only called when {@link #isActive()}.
+     *
+     * @return the fingerprint of the API key to capture under, null to skip the request
+     */
+    public String sample(String apiKey) {
+        String fingerprint = fingerprint(apiKey);
+        if (enabledFingerprints.contains(fingerprint)) {
+            return fingerprint;
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return fingerprint;
+        }
+        return null;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Appends a capture to the restaurant's ring buffer, evicting its oldest capture when full.
+     * Only stores the bytes, decoding is left to the admin read.
+     */
+    public void record(String fingerprint, String method, String path, MediaType mediaType, byte[] body, boolean truncated) {
+        Deque<Capture> buffer = captures.get(fingerprint);
+        if (buffer == null) {
+            if (captures.size() >= maxRestaurants) {
+                return;
+            }
+            buffer = captures.computeIfAbsent(fingerprint, k -> new ArrayDeque<>(perRestaurant));
+        }
+        synchronized (buffer) {
+            if (buffer.size() >= perRestaurant) {
+                buffer.pollFirst();
+            }
+            buffer.addLast(new Capture(Instant.now(), fingerprint, method, path, mediaType, body, truncated));
+        }
+    }
+
+    @Transactional
+    public void enableRestaurant(String restaurantId) {
+        Restaurant restaurant = findRestaurant(restaurantId);
+        enabledFingerprints.add(fingerprint(restaurant.getApiKey()));
+        log.info("RequestCaptureService:: Request capture enabled for restaurant: {}", restaurant.getName());
+    }
+
+    @Transactional
+    public void disableRestaurant(String restaurantId) {
+        Restaurant restaurant = findRestaurant(restaurantId);
+        String fingerprint = fingerprint(restaurant.getApiKey());
+        enabledFingerprints.remove(fingerprint);
+        captures.remove(fingerprint);
+        log.info("RequestCaptureService:: Request capture disabled for restaurant: {}", restaurant.getName());
+    }
+
+    /**
+     * @param restaurantId optional, all restaurants when null
+     * @return captures, newest first
+     */
+    @Transactional
+    public List<RequestCaptureResponse> getCaptures(String restaurantId) {
+        List<Capture> selected = new ArrayList<>();
+        if (restaurantId != null && !restaurantId.isBlank()) {
+            Deque<Capture> buffer = captures.get(fingerprint(findRestaurant(restaurantId).getApiKey()));
+            if (buffer != null) {
+                synchronized (buffer) {
+                    selected.addAll(buffer);
+                }
+            }
+        } else {
+            for (Deque<Capture> buffer : captures.values()) {
+                synchronized (buffer) {
+                    selected.addAll(buffer);
+                }
+            }
+        }
+        return selected.stream()
+                .sorted(Comparator.comparing(Capture::capturedAt).reversed())
+                .map(RequestCaptureService::toResponse)
+                .toList();
+    }
+
+    private static RequestCaptureResponse toResponse(Capture capture) {
+        MediaType mediaType = capture.mediaType();
+        boolean text = mediaType == null || mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)
+                || "x-ndjson".equals(mediaType.getSubtype());
+        String body = text ? new String(capture.body(), StandardCharsets.UTF_8) : Base64.getEncoder().encodeToString(capture.body());
+        return new RequestCaptureResponse(capture.capturedAt(), capture.fingerprint(), capture.method(), capture.path(),
+                mediaType != null ? mediaType.toString() : null, capture.body().length, capture.truncated(), body);
+    }
+
+    private Restaurant findRestaurant(String restaurantId) {
+        try {
+            Restaurant restaurant = Restaurant.findById(UUID.fromString(restaurantId));
+            if (restaurant == null) {
+                log.warn("RequestCaptureService:: Restaurant not found: {}", restaurantId);
+                throw new AppException("Restaurant not found.", Response.Status.BAD_REQUEST);
+            }
+            return restaurant;
+        } catch (IllegalArgumentException e) {
+            log.warn("RequestCaptureService:: Invalid restaurantId format: {}", restaurantId);
+            throw new AppException("Invalid restaurant ID format.", Response.Status.BAD_REQUEST);
+        }
+    }
+
+    private static String fingerprint(String apiKey) {
+        return DigestUtils.sha256Hex(apiKey).substring(0, 12);
+    }
+}
@@ -58,7 +58,7 @@ public class SubscriptionService {
             log.debug("Getting subscribed restaurants for user: {}", userId);
 
             List<UserRestaurant> userRestaurants = entityManager
-                    .createQuery("SELECT ur FROM UserRestaurant ur WHERE ur.user.id = :userId", UserRestaurant.class)
+                    .createQuery("SELECT ur FROM UserRestaurant ur JOIN FETCH ur.restaurant WHERE ur.user.id = :userId", UserRestaurant.class)
                     .setParameter("userId", userId)
                     .getResultList();
 
@@ -78,13 +78,25 @@ public class SubscriptionService {
      * Validate subscription before sync operations - throws exception if invalid
      */
     public void validateSubscriptionBeforeSync(UUID restaurantId) {
-        UserRestaurant userRestaurant = entityManager
+        validateSubscriptionBeforeSync(restaurantId, findSyncSubscription(restaurantId));
+    }
+
+    /**
+     * Subscription checked for sync operations, the first user-restaurant link of the restaurant
+     */
+    public UserRestaurant findSyncSubscription(UUID restaurantId) {
+        return entityManager
                 .createQuery("SELECT ur FROM UserRestaurant ur WHERE ur.restaurant.id = :restaurantId", UserRestaurant.class)
                 .setParameter("restaurantId", restaurantId)
                 .getResultStream()
                 .findFirst()
                 .orElse(null);
+    }
 
+    /**
+     * Validate an already loaded (possibly cached) sync subscription - throws exception if invalid
+     */
+    public void validateSubscriptionBeforeSync(UUID restaurantId, UserRestaurant userRestaurant) {
         if (userRestaurant == null) {
             log.warn("No user-restaurant relationship found for restaurant: {}", restaurantId);
             throw new AppException("No user-restaurant relationship found for restaurant. Please renew your subscription to continue sync operations.", Response.Status.FORBIDDEN);
@@ -0,0 +1,64 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.SyncError;
+import com.posdb.sync.exception.AppException;
+import jakarta.ws.rs.core.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-record errors of one sync batch, keeps at most {@code maxErrors} of them ({@code pos.sync.errors.max})
+ * and flags the rest as truncated so a bad batch cannot produce an unbounded response.
+ */
+final class SyncErrorCollector {
+
+    static final String INVALID_RECORD = "INVALID_RECORD";
+    static final String WRITE_FAILED = "WRITE_FAILED";
+
+    private static final int MAX_MESSAGE_LENGTH = 300;
+
+    private final int maxErrors;
+    private final List<SyncError> errors = new ArrayList<>();
+    private boolean truncated;
+
+    SyncErrorCollector(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    void add(int index, Object key, Exception e) {
+        add(new SyncError(index, key != null ? String.valueOf(key) : null, code(e), message(e), null));
+    }
+
+    void add(SyncError error) {
+        if (errors.size() >= maxErrors) {
+            truncated = true;
+            return;
+        }
+        errors.add(error);
+    }
+
+    List<SyncError> getErrors() {
+        return errors;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    static String code(Exception e) {
+        return e instanceof AppException appException && appException.getStatus() == Response.Status.BAD_REQUEST
+                ? INVALID_RECORD : WRITE_FAILED;
+    }
+
+    static String message(Exception e) {
+        Throwable cause = e;
+        if (!(e instanceof AppException)) {
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+        }
+        String message = cause.getMessage();
+        return message != null && message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) + "..." : message;
+    }
+}
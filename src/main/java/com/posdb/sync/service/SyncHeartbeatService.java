@@ -0,0 +1,77 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.RestaurantHeartbeatResponse;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.repository.RestaurantRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the last successful sync per restaurant in memory instead of updating the restaurant row inside every
+ * sync transaction, where concurrent stations of one restaurant would queue on its row lock.
+ * Pending heartbeats are written to restaurant.last_sync_time by {@link com.posdb.sync.job.SyncHeartbeatFlushJob}
+ * every {@code pos.sync.heartbeat.flush-interval} and at shutdown.
+ */
+@ApplicationScoped
+@Slf4j
+public class SyncHeartbeatService {
+
+    @Inject
+    RestaurantRepository restaurantRepository;
+
+    private final Map<UUID, OffsetDateTime> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Records a successful sync of the restaurant, never blocks on the database.
+     */
+    public void record(UUID restaurantId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        pending.merge(restaurantId, now, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    /**
+     * Last sync time including a heartbeat not flushed yet.
+     */
+    public OffsetDateTime getLastSyncTime(UUID restaurantId, OffsetDateTime persisted) {
+        OffsetDateTime unflushed = pending.get(restaurantId);
+        if (unflushed == null) {
+            return persisted;
+        }
+        return persisted == null || unflushed.isAfter(persisted) ? unflushed : persisted;
+    }
+
+    /**
+     * Writes all pending heartbeats in one batched UPDATE. Entries are only dropped once committed and only when no
+     * newer heartbeat arrived meanwhile, a failed flush is retried by the next run.
+     */
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, OffsetDateTime> batch = new HashMap<>(pending);
+        QuarkusTransaction.requiringNew().run(() -> restaurantRepository.updateLastSyncTimes(batch));
+        batch.forEach(pending::remove);
+        return batch.size();
+    }
+
+    @Transactional
+    public List<RestaurantHeartbeatResponse> getHeartbeats() {
+        return restaurantRepository.<Restaurant>listAll().stream()
+                .map(r -> new RestaurantHeartbeatResponse(r.getId().toString(), r.getName(), r.getStatus(),
+                        getLastSyncTime(r.getId(), r.getLastSyncTime()), pending.containsKey(r.getId())))
+                .sorted(Comparator.comparing(RestaurantHeartbeatResponse::getLastSyncTime,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+}
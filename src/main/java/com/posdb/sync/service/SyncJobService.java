@@ -0,0 +1,214 @@
+package com.posdb.sync.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.posdb.sync.dto.response.PosSyncResponse;
+import com.posdb.sync.dto.response.SyncJobResponse;
+import com.posdb.sync.dto.response.SyncResponse;
+import com.posdb.sync.dto.sync.*;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.SyncJob;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.entity.enums.SyncJobStatus;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.repository.SyncJobRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+
+@ApplicationScoped
+@Slf4j
+public class SyncJobService {
+
+    @Inject
+    ApiKeyValidatorService apiKeyValidatorService;
+
+    @Inject
+    SyncJobRepository syncJobRepository;
+
+    @Inject
+    OrderSyncService orderSyncService;
+
+    @Inject
+    OrderMiscSyncService orderMiscSyncService;
+
+    @Inject
+    PosSyncService posSyncService;
+
+    @Inject
+    ChunkedSyncService chunkedSyncService;
+
+    @Inject
+    SyncHeartbeatService syncHeartbeatService;
+
+    @Inject
+    IdempotencyService idempotencyService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "pos.sync.idempotency.ttl", defaultValue = "24h")
+    Duration idempotencyTtl;
+
+    /**
+     * Stores the sync request as a QUEUED job, it is picked up by {@link com.posdb.sync.job.SyncJobWorker}.
+     * A retried submit of the same batch (same Idempotency-Key header, or same body without one) within
+     * {@code pos.sync.idempotency.ttl} gets the job of the first submit back instead of queueing it again,
+     * unless that job failed.
+     */
+    @Transactional
+    public SyncJobResponse enqueue(SyncEntityType entityType, Object request, HttpHeaders headers) {
+        try {
+            String apiKey = headers.getHeaderString(API_KEY);
+
+            Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
+            log.info("SyncJobService::enqueue Subscription validation passed for restaurant: {}", restaurant.getName());
+
+            if (request == null) {
+                throw new AppException("Sync request body is required", Response.Status.BAD_REQUEST);
+            }
+
+            String idempotencyKey = idempotencyService.resolveKey(request, headers);
+            syncJobRepository.lockIdempotencyKey(restaurant, entityType, idempotencyKey);
+            Optional<SyncJob> submitted = syncJobRepository.findByIdempotencyKey(restaurant, entityType, idempotencyKey,
+                    OffsetDateTime.now().minus(idempotencyTtl));
+            if (submitted.isPresent()) {
+                log.info("SyncJobService:: {} sync job {} already submitted for restaurantId: {}, key: {}",
+                        entityType, submitted.get().getId(), restaurant.getName(), idempotencyKey);
+                return toResponse(submitted.get());
+            }
+
+            SyncJob job = new SyncJob();
+            job.setRestaurant(restaurant);
+            job.setEntityType(entityType);
+            job.setStatus(SyncJobStatus.QUEUED);
+            job.setIdempotencyKey(idempotencyKey);
+            job.setPayload(objectMapper.writeValueAsString(request));
+            syncJobRepository.persist(job);
+
+            log.info("SyncJobService:: {} sync job {} queued for restaurantId: {}", entityType, job.getId(), restaurant.getName());
+            return toResponse(job);
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("SyncJobService::enqueue API key validation failed: {}", e.getMessage());
+            throw new AppException("Invalid or missing API key.", Response.Status.UNAUTHORIZED);
+        } catch (Exception e) {
+            log.error("SyncJobService::enqueue Error queueing sync job", e);
+            throw new AppException("Failed to queue sync job.", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    @Transactional
+    public SyncJobResponse getJob(Long jobId, HttpHeaders headers) {
+        try {
+            String apiKey = headers.getHeaderString(API_KEY);
+            Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantId(apiKey);
+
+            SyncJob job = syncJobRepository.findByRestaurantAndId(restaurant, jobId)
+                    .orElseThrow(() -> new AppException("Sync job not found", Response.Status.NOT_FOUND));
+            return toResponse(job);
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("SyncJobService::getJob API key validation failed: {}", e.getMessage());
+            throw new AppException("Invalid or missing API key.", Response.Status.UNAUTHORIZED);
+        } catch (Exception e) {
+            log.error("SyncJobService::getJob Error loading sync job {}", jobId, e);
+            throw new AppException("Failed to load sync job.", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Runs a claimed (RUNNING) job and records the outcome in a separate transaction, so a failed sync still leaves
+     * the job marked FAILED. Single entity jobs are written chunk by chunk like the synchronous endpoints,
+     * POS_SYNC jobs keep the all-or-nothing transaction of the unified sync. The outcome is dropped when the job is
+     * no longer claimed by {@code owner}, i.e. its lease expired and it was requeued.
+     */
+    public void runJob(Long jobId, String owner) {
+        try {
+            SyncJob job = QuarkusTransaction.requiringNew().call(() -> syncJobRepository.findById(jobId));
+            UUID restaurantId = job.getRestaurant().getId();
+            Object response = execute(job.getEntityType(), job.getPayload(), restaurantId);
+            String result = objectMapper.writeValueAsString(response);
+            QuarkusTransaction.requiringNew().run(() -> finish(jobId, owner, SyncJobStatus.SUCCEEDED, result, null));
+            log.info("SyncJobService:: Sync job {} succeeded", jobId);
+        } catch (Exception e) {
+            Throwable cause = e.getCause() instanceof AppException ? e.getCause() : e;
+            String message = cause instanceof AppException ? cause.getMessage() : "Failed to run sync job. Error: " + cause.getMessage();
+            log.error("SyncJobService:: Sync job {} failed", jobId, cause);
+            QuarkusTransaction.requiringNew().run(() -> finish(jobId, owner, SyncJobStatus.FAILED, null, message));
+        }
+    }
+
+    private Object execute(SyncEntityType entityType, String payload, UUID restaurantId) throws Exception {
+        if (entityType == SyncEntityType.POS_SYNC) {
+            PosSyncRequest request = objectMapper.readValue(payload, PosSyncRequest.class);
+            return QuarkusTransaction.requiringNew().call(() -> {
+                Restaurant restaurant = Restaurant.findById(restaurantId);
+                PosSyncResponse response = posSyncService.sync(restaurant, request);
+                syncHeartbeatService.record(restaurantId);
+                return response;
+            });
+        }
+
+        SyncResponse response = switch (entityType) {
+            case ORDER_HEADERS -> chunkedSyncService.syncInChunks(restaurantId, entityType,
+                    objectMapper.readValue(payload, OrderHeaderSyncRequest.class).getOrderHeaders(), orderSyncService::syncOrderHeaders);
+            case ORDER_PAYMENTS -> chunkedSyncService.syncInChunks(restaurantId, entityType,
+                    objectMapper.readValue(payload, OrderPaymentSyncRequest.class).getOrderPayments(), orderSyncService::syncOrderPayments);
+            case ORDER_TRANSACTIONS -> {
+                OrderTransactionSyncRequest request = objectMapper.readValue(payload, OrderTransactionSyncRequest.class);
+                yield orderSyncService.isCopyIngest(request)
+                        ? chunkedSyncService.syncInChunks(restaurantId, entityType, request.getOrderTransactions(),
+                        ChunkedSyncService.WHOLE_BATCH, orderSyncService::copyOrderTransactions)
+                        : chunkedSyncService.syncInChunks(restaurantId, entityType, request.getOrderTransactions(),
+                        orderSyncService::syncOrderTransactions);
+            }
+            case ORDER_VOID_LOGS -> chunkedSyncService.syncInChunks(restaurantId, entityType,
+                    objectMapper.readValue(payload, OrderVoidLogSyncRequest.class).getOrderVoidLogs(), orderMiscSyncService::syncOrderVoidLogs);
+            case ON_ACCOUNT_CHARGES -> chunkedSyncService.syncInChunks(restaurantId, entityType,
+                    objectMapper.readValue(payload, OnAccountChargeSyncRequest.class).getOnAccountCharges(), orderMiscSyncService::syncOnAccountCharges);
+            case CUSTOMER_FILES -> chunkedSyncService.syncInChunks(restaurantId, entityType,
+                    objectMapper.readValue(payload, CustomerFileSyncRequest.class).getCustomerFiles(), orderMiscSyncService::syncCustomerFiles);
+            default -> throw new AppException("Unsupported sync job type " + entityType, Response.Status.BAD_REQUEST);
+        };
+        if (response.getFailedRecords() < response.getTotalRecords()) {
+            syncHeartbeatService.record(restaurantId);
+        }
+        return response;
+    }
+
+    private void finish(Long jobId, String owner, SyncJobStatus status, String result, String errorMessage) {
+        SyncJob job = syncJobRepository.findById(jobId);
+        if (job.getStatus() != SyncJobStatus.RUNNING || !owner.equals(job.getClaimedBy())) {
+            log.warn("SyncJobService:: Sync job {} lost its lease while running, {} outcome dropped", jobId, status);
+            return;
+        }
+        job.setStatus(status);
+        job.setLeaseExpiresAt(null);
+        job.setResult(result);
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(OffsetDateTime.now());
+        if (status == SyncJobStatus.SUCCEEDED) {
+            job.setPayload(null);
+        }
+    }
+
+    private SyncJobResponse toResponse(SyncJob job) throws Exception {
+        return new SyncJobResponse(job.getId(), job.getEntityType().name(), job.getStatus().name(), job.getCreatedAt(),
+                job.getStartedAt(), job.getFinishedAt(), job.getResult() != null ? objectMapper.readTree(job.getResult()) : null,
+                job.getErrorMessage());
+    }
+}
@@ -0,0 +1,136 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.SyncWatermarkResponse;
+import com.posdb.sync.dto.sync.CustomerFileData;
+import com.posdb.sync.dto.sync.OnAccountChargeData;
+import com.posdb.sync.dto.sync.OrderHeaderData;
+import com.posdb.sync.dto.sync.OrderPaymentData;
+import com.posdb.sync.dto.sync.OrderTransactionData;
+import com.posdb.sync.dto.sync.OrderVoidLogData;
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.entity.enums.SyncEntityType;
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.repository.SyncWatermarkRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static com.posdb.sync.dto.constants.AppConstants.API_KEY;
+
+@ApplicationScoped
+@Slf4j
+public class SyncWatermarkService {
+
+    /**
+     * DTO fields behind max_key / max_timestamp of an entity type, see V12__create_sync_watermarks.sql.
+     * The timestamp is null for entities without one.
+     */
+    private record Fields<D>(String keyName, Function<D, Integer> key,
+                             String timestampName, Function<D, OffsetDateTime> timestamp) {
+    }
+
+    private static final Map<SyncEntityType, Fields<?>> WATERMARK_FIELDS = Map.of(
+            SyncEntityType.ORDER_HEADERS, new Fields<>("orderId", OrderHeaderData::getOrderId, "editTimestamp", OrderHeaderData::getEditTimestamp),
+            SyncEntityType.ORDER_PAYMENTS, new Fields<>("orderPaymentId", OrderPaymentData::getOrderPaymentId, "paymentDateTime", OrderPaymentData::getPaymentDateTime),
+            SyncEntityType.ORDER_TRANSACTIONS, new Fields<>("orderTransactionId", OrderTransactionData::getOrderTransactionId, null, null),
+            SyncEntityType.ORDER_VOID_LOGS, new Fields<>("autoId", OrderVoidLogData::getAutoId, "voidDateTime", OrderVoidLogData::getVoidDateTime),
+            SyncEntityType.ON_ACCOUNT_CHARGES, new Fields<>("orderChargeId", OnAccountChargeData::getOrderChargeId, "chargeDateTime", OnAccountChargeData::getChargeDateTime),
+            SyncEntityType.CUSTOMER_FILES, new Fields<>("customerId", CustomerFileData::getCustomerId, null, null));
+
+    @Inject
+    ApiKeyValidatorService apiKeyValidatorService;
+
+    @Inject
+    SyncWatermarkRepository syncWatermarkRepository;
+
+    /**
+     * Raises the restaurant's watermark to the highest key / timestamp of the committed records of a batch, in the
+     * caller's transaction. When records of the batch failed, the watermark stays below the lowest failed key and
+     * timestamp, so a client syncing from the watermark sends the failed records again.
+     */
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void advance(UUID restaurantId, SyncEntityType entityType, List<?> committed, List<?> failed) {
+        @SuppressWarnings("unchecked")
+        Fields<Object> fields = (Fields<Object>) WATERMARK_FIELDS.get(entityType);
+        if (fields == null) {
+            return;
+        }
+        Long maxKey = below(committed, failed, record -> toLong(fields.key().apply(record)));
+        OffsetDateTime maxTimestamp = fields.timestamp() == null ? null : below(committed, failed, fields.timestamp());
+        if (maxKey == null && maxTimestamp == null) {
+            return;
+        }
+        syncWatermarkRepository.advance(restaurantId, entityType, maxKey, maxTimestamp);
+    }
+
+    /**
+     * Highest value of the committed records that is lower than every value of the failed records, null if none.
+     */
+    static <T extends Comparable<T>> T below(List<?> committed, List<?> failed, Function<Object, T> value) {
+        T lowestFailed = failed.stream().map(value).filter(Objects::nonNull).min(Comparator.naturalOrder()).orElse(null);
+        return committed.stream().map(value).filter(Objects::nonNull)
+                .filter(v -> lowestFailed == null || v.compareTo(lowestFailed) < 0)
+                .max(Comparator.naturalOrder()).orElse(null);
+    }
+
+    private static Long toLong(Integer value) {
+        return value == null ? null : value.longValue();
+    }
+
+    @Transactional
+    public List<SyncWatermarkResponse> getWatermarks(HttpHeaders headers) {
+        try {
+            String apiKey = headers.getHeaderString(API_KEY);
+            Restaurant restaurant = apiKeyValidatorService.validateAndGetRestaurantWithSubscription(apiKey);
+            log.info("SyncWatermarkService::getWatermarks Subscription validation passed for restaurant: {}", restaurant.getName());
+
+            return syncWatermarkRepository.findByRestaurant(restaurant.getId()).stream()
+                    .map(r -> {
+                        String entityType = (String) r[0];
+                        Fields<?> fields = WATERMARK_FIELDS.get(SyncEntityType.valueOf(entityType));
+                        return new SyncWatermarkResponse(
+                                entityType,
+                                fields != null ? fields.keyName() : null,
+                                r[1] != null ? ((Number) r[1]).longValue() : null,
+                                fields != null ? fields.timestampName() : null,
+                                toOffsetDateTime(r[2]),
+                                toOffsetDateTime(r[3]));
+                    })
+                    .toList();
+        } catch (AppException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            log.warn("SyncWatermarkService::getWatermarks API key validation failed: {}", e.getMessage());
+            throw new AppException("Invalid or missing API key.", Response.Status.UNAUTHORIZED);
+        } catch (Exception e) {
+            log.error("SyncWatermarkService::getWatermarks Error loading sync watermarks", e);
+            throw new AppException("Failed to load sync watermarks.", Response.Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private static OffsetDateTime toOffsetDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime;
+        }
+        if (value instanceof Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+        return ((java.sql.Timestamp) value).toInstant().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -26,7 +26,7 @@ public class BusinessWindowUtil {
 
     }
 
-    private static ZoneId getZoneId(String timeZone) {
+    public static ZoneId getZoneId(String timeZone) {
         try {
             return ZoneId.of(timeZone);
         } catch (Exception e) {
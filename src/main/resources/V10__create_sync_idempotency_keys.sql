@@ -0,0 +1,14 @@
+-- Responses of committed sync batches, replayed when a client retries the same batch
+CREATE TABLE IF NOT EXISTS sync_idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id),
+    entity_type VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(128) NOT NULL,
+    response TEXT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    UNIQUE(restaurant_id, entity_type, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_idempotency_keys_expires ON sync_idempotency_keys(expires_at);
@@ -0,0 +1,12 @@
+-- Records that failed to sync, kept with their raw payload so the rest of the batch can be committed
+CREATE TABLE IF NOT EXISTS sync_dead_letter (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id),
+    entity_type VARCHAR(50) NOT NULL,
+    record_index INTEGER,
+    payload TEXT NOT NULL,
+    error_message TEXT,
+    created_at TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_sync_dead_letter_restaurant ON sync_dead_letter(restaurant_id, created_at);
@@ -0,0 +1,41 @@
+-- Highest key / timestamp stored per restaurant and entity type, served to POS clients for delta syncs.
+-- max_key / max_timestamp per entity type:
+--   ORDER_HEADERS       order_id              / edit_timestamp
+--   ORDER_PAYMENTS      order_payment_id      / payment_date_time
+--   ORDER_TRANSACTIONS  order_transaction_id  / -
+--   ORDER_VOID_LOGS     auto_id               / void_date_time
+--   ON_ACCOUNT_CHARGES  order_charge_id       / charge_date_time
+--   CUSTOMER_FILES      customer_id           / -
+CREATE TABLE IF NOT EXISTS sync_watermarks (
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id),
+    entity_type VARCHAR(50) NOT NULL,
+    max_key BIGINT,
+    max_timestamp TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ,
+    PRIMARY KEY (restaurant_id, entity_type)
+);
+
+-- Seed from the data already synced
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'ORDER_HEADERS', MAX(order_id), MAX(edit_timestamp), now() FROM order_headers GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'ORDER_PAYMENTS', MAX(order_payment_id), MAX(payment_date_time), now() FROM order_payments GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'ORDER_TRANSACTIONS', MAX(order_transaction_id), NULL, now() FROM order_transactions GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'ORDER_VOID_LOGS', MAX(auto_id), MAX(void_date_time), now() FROM order_void_logs GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'ON_ACCOUNT_CHARGES', MAX(order_charge_id), MAX(charge_date_time), now() FROM on_account_charges GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO sync_watermarks (restaurant_id, entity_type, max_key, max_timestamp, updated_at)
+SELECT restaurant_id, 'CUSTOMER_FILES', MAX(customer_id), NULL, now() FROM customer_files GROUP BY restaurant_id
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,3 @@
+-- SHA-256 of the synced menu item fields, full syncs only write items whose hash changed.
+-- Existing rows start without a hash and are written once by their next full sync.
+ALTER TABLE menu_items ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
@@ -0,0 +1,19 @@
+-- Staging table of the COPY ingest of order transactions. Each batch is copied in under its own batch_id, merged into
+-- order_transactions and deleted again within one transaction. UNLOGGED: no WAL for rows that only live for that
+-- transaction (the table is emptied after a crash, which loses nothing).
+CREATE UNLOGGED TABLE IF NOT EXISTS order_transactions_staging (
+    batch_id UUID NOT NULL,
+    order_transaction_id INTEGER NOT NULL,
+    order_id INTEGER NOT NULL,
+    menu_item_id INTEGER,
+    menu_item_unit_price NUMERIC(100, 2),
+    quantity NUMERIC(100, 2),
+    extended_price NUMERIC(100, 2),
+    discount_id INTEGER,
+    discount_amount NUMERIC(100, 2),
+    discount_basis VARCHAR(255),
+    discount_amount_used NUMERIC(100, 2),
+    row_guid VARCHAR(50)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_transactions_staging_batch ON order_transactions_staging(batch_id);
@@ -0,0 +1,19 @@
+-- Dashboard figures per business date and order type, kept current by the sync services: every synced order header,
+-- payment, on-account charge and void log recomputes the business dates of its orders. Orders without an order type
+-- are stored under order_type ''. Repair with POST /api/v1/admin/restaurants/{id}/rollup/rebuild.
+CREATE TABLE IF NOT EXISTS daily_sales_rollup (
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id),
+    business_date DATE NOT NULL,
+    order_type VARCHAR(50) NOT NULL,
+    order_count INTEGER NOT NULL,
+    guest_count BIGINT NOT NULL,
+    amount_due NUMERIC(100, 2) NOT NULL,
+    sub_total NUMERIC(100, 2) NOT NULL,
+    discount_amount NUMERIC(100, 2) NOT NULL,
+    void_order_count INTEGER NOT NULL,
+    void_amount NUMERIC(100, 2) NOT NULL,
+    inhouse_order_count INTEGER NOT NULL,
+    inhouse_amount NUMERIC(100, 2) NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (restaurant_id, business_date, order_type)
+);
@@ -0,0 +1,6 @@
+-- A claimed job records the claiming instance, which renews the lease while the job runs. RUNNING jobs whose lease
+-- expired were left behind by a stopped instance and are put back in the queue by any live one.
+ALTER TABLE sync_jobs ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100);
+ALTER TABLE sync_jobs ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_sync_jobs_running_lease ON sync_jobs(lease_expires_at) WHERE status = 'RUNNING';
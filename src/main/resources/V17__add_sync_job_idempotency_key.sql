@@ -0,0 +1,7 @@
+-- Retried submits of the same batch (Idempotency-Key header or request digest) get the job queued by the first one
+ALTER TABLE sync_jobs ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(128);
+
+CREATE INDEX IF NOT EXISTS idx_sync_jobs_idempotency_key ON sync_jobs(restaurant_id, entity_type, idempotency_key, created_at);
+
+-- Finished jobs are deleted after pos.sync.jobs.retention
+CREATE INDEX IF NOT EXISTS idx_sync_jobs_finished_at ON sync_jobs(finished_at) WHERE status IN ('SUCCEEDED', 'FAILED');
@@ -0,0 +1,3 @@
+-- Set when the whole daily_sales_rollup of the restaurant was rebuilt. Restaurants with business hours and no value
+-- yet are backfilled by DailySalesRollupBackfillJob, so orders synced before V15 show up on the day view.
+ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS rollup_rebuilt_at TIMESTAMPTZ;
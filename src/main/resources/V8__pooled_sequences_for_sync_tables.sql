@@ -0,0 +1,8 @@
+-- Sync entities allocate ids from these sequences in blocks of 50 (pooled optimizer),
+-- which lets Hibernate batch the inserts. The increment must match allocationSize on the entities.
+ALTER SEQUENCE order_payments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_transactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_void_logs_id_seq INCREMENT BY 50;
+ALTER SEQUENCE on_account_charges_id_seq INCREMENT BY 50;
+ALTER SEQUENCE customer_files_id_seq INCREMENT BY 50;
+ALTER SEQUENCE menu_items_id_seq INCREMENT BY 50;
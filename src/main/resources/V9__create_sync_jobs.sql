@@ -0,0 +1,17 @@
+-- Durable queue for asynchronous sync requests (?async=true on the /api/v1/pos sync endpoints)
+CREATE TABLE IF NOT EXISTS sync_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    restaurant_id UUID NOT NULL REFERENCES restaurant(id),
+    entity_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    payload TEXT,
+    result TEXT,
+    error_message TEXT,
+    started_at TIMESTAMPTZ,
+    finished_at TIMESTAMPTZ,
+    created_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ
+);
+
+-- Job claiming looks up the oldest QUEUED job per restaurant that has no RUNNING job
+CREATE INDEX IF NOT EXISTS idx_sync_jobs_status_restaurant ON sync_jobs(status, restaurant_id, id);
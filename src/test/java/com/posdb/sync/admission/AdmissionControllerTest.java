@@ -0,0 +1,157 @@
+package com.posdb.sync.admission;
+
+import com.posdb.sync.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    private final UUID restaurantA = UUID.randomUUID();
+    private final UUID restaurantB = UUID.randomUUID();
+
+    private AdmissionController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = controller(3, 2);
+    }
+
+    @Test
+    void rejectsTheRestaurantBeyondItsLimitButNotOthers() {
+        try (AdmissionController.Permit first = controller.acquire(restaurantA);
+             AdmissionController.Permit second = controller.acquire(restaurantA)) {
+            TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> controller.acquire(restaurantA));
+            assertEquals(5, e.getRetryAfterSeconds());
+
+            controller.acquire(restaurantB).close();
+        }
+    }
+
+    @Test
+    void rejectsEveryoneAtTheGlobalLimit() {
+        try (AdmissionController.Permit a1 = controller.acquire(restaurantA);
+             AdmissionController.Permit a2 = controller.acquire(restaurantA);
+             AdmissionController.Permit b1 = controller.acquire(restaurantB)) {
+            assertThrows(TooManyRequestsException.class, () -> controller.acquire(UUID.randomUUID()));
+        }
+        assertEquals(1.0, rejections("global"));
+        assertEquals(0.0, rejections("restaurant"));
+    }
+
+    @Test
+    void releasesBothPermitsOnClose() {
+        for (int i = 0; i < 10; i++) {
+            try (AdmissionController.Permit a1 = controller.acquire(restaurantA);
+                 AdmissionController.Permit a2 = controller.acquire(restaurantA)) {
+                assertEquals(2.0, gauge("pos.sync.admission.active"));
+            }
+        }
+        assertEquals(0.0, gauge("pos.sync.admission.active"));
+    }
+
+    @Test
+    void aRestaurantRejectedOnTheGlobalLimitKeepsItsOwnPermit() {
+        AdmissionController single = controller(1, 1);
+        try (AdmissionController.Permit b = single.acquire(restaurantB)) {
+            assertThrows(TooManyRequestsException.class, () -> single.acquire(restaurantA));
+        }
+        single.acquire(restaurantA).close();
+    }
+
+    @Test
+    void defaultPermitsFitThePool() {
+        AdmissionController pooled = new AdmissionController();
+        pooled.poolSize = 24;
+        pooled.jobWorkers = 4;
+        pooled.dashboardQueryThreads = 6;
+        pooled.reservedConnections = 2;
+        assertEquals(12, pooled.availableConnections());
+    }
+
+    /**
+     * Load check: 64 threads of 8 restaurants sync 20 times each against 12 DB permits. Nobody is rejected while the
+     * queue timeout covers the backlog, and the permit holders never exceed the global or per-restaurant limit.
+     */
+    @Test
+    void underLoadHoldersStayWithinTheLimits() throws Exception {
+        AdmissionController loaded = controller(12, 2, Duration.ofSeconds(30));
+        List<UUID> restaurants = IntStream.range(0, 8).mapToObj(i -> UUID.randomUUID()).toList();
+        Map<UUID, AtomicInteger> perRestaurant = new ConcurrentHashMap<>();
+        AtomicInteger holders = new AtomicInteger();
+        AtomicInteger maxHolders = new AtomicInteger();
+        AtomicInteger maxPerRestaurant = new AtomicInteger();
+
+        ExecutorService threads = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<?>> syncs = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                UUID restaurantId = restaurants.get(t % restaurants.size());
+                syncs.add(threads.submit(() -> {
+                    for (int i = 0; i < 20; i++) {
+                        try (AdmissionController.Permit ignored = loaded.acquire(restaurantId)) {
+                            AtomicInteger own = perRestaurant.computeIfAbsent(restaurantId, k -> new AtomicInteger());
+                            maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+                            maxPerRestaurant.accumulateAndGet(own.incrementAndGet(), Math::max);
+                            Thread.sleep(1);
+                            own.decrementAndGet();
+                            holders.decrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> sync : syncs) {
+                sync.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertTrue(maxHolders.get() <= 12, "max concurrent syncs " + maxHolders.get());
+        assertTrue(maxPerRestaurant.get() <= 2, "max concurrent syncs of one restaurant " + maxPerRestaurant.get());
+        assertEquals(0.0, loaded.meterRegistry.get("pos.sync.admission.active").gauge().value());
+        assertEquals(0.0, loaded.meterRegistry.get("pos.sync.admission.rejected").tag("limit", "global").counter().count());
+    }
+
+    static AdmissionController controller(int globalLimit, int perRestaurantLimit) {
+        return controller(globalLimit, perRestaurantLimit, Duration.ofMillis(50));
+    }
+
+    static AdmissionController controller(int globalLimit, int perRestaurantLimit, Duration queueTimeout) {
+        AdmissionController controller = new AdmissionController();
+        controller.globalLimit = globalLimit;
+        controller.perRestaurantLimit = perRestaurantLimit;
+        controller.poolSize = globalLimit;
+        controller.queueTimeout = queueTimeout;
+        controller.retryAfter = Duration.ofSeconds(5);
+        controller.meterRegistry = new SimpleMeterRegistry();
+        controller.init();
+        return controller;
+    }
+
+    private double rejections(String limit) {
+        return controller.meterRegistry.get("pos.sync.admission.rejected").tag("limit", limit).counter().count();
+    }
+
+    private double gauge(String name) {
+        return controller.meterRegistry.get(name).gauge().value();
+    }
+}
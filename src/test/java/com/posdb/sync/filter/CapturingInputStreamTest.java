@@ -0,0 +1,86 @@
+package com.posdb.sync.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CapturingInputStreamTest {
+
+    private static final byte[] BODY = "{\"orderHeaders\":[{\"orderId\":1}]}".getBytes(StandardCharsets.UTF_8);
+
+    private final List<byte[]> copies = new ArrayList<>();
+    private final List<Boolean> truncations = new ArrayList<>();
+
+    @Test
+    void passesTheBodyThroughAndCopiesItWhole() throws IOException {
+        try (InputStream in = capturing(1024)) {
+            assertArrayEquals(BODY, in.readAllBytes());
+        }
+
+        assertEquals(1, copies.size());
+        assertArrayEquals(BODY, copies.get(0));
+        assertFalse(truncations.get(0));
+    }
+
+    @Test
+    void copiesAtMostMaxBytesButPassesEverything() throws IOException {
+        try (InputStream in = capturing(10)) {
+            assertArrayEquals(BODY, in.readAllBytes());
+        }
+
+        assertArrayEquals(Arrays.copyOf(BODY, 10), copies.get(0));
+        assertTrue(truncations.get(0));
+    }
+
+    @Test
+    void singleByteReadsAreCopiedToo() throws IOException {
+        InputStream in = capturing(4);
+        int count = 0;
+        while (in.read() != -1) {
+            count++;
+        }
+
+        assertEquals(BODY.length, count);
+        assertArrayEquals(Arrays.copyOf(BODY, 4), copies.get(0));
+        assertTrue(truncations.get(0));
+    }
+
+    @Test
+    void aBodyOfExactlyMaxBytesIsNotTruncated() throws IOException {
+        try (InputStream in = capturing(BODY.length)) {
+            in.readAllBytes();
+        }
+
+        assertArrayEquals(BODY, copies.get(0));
+        assertFalse(truncations.get(0));
+    }
+
+    @Test
+    void completesOnceWhenClosedEarly() throws IOException {
+        InputStream in = capturing(1024);
+        in.readNBytes(5);
+        in.close();
+        in.close();
+
+        assertEquals(1, copies.size());
+        assertArrayEquals(Arrays.copyOf(BODY, 5), copies.get(0));
+    }
+
+    private InputStream capturing(int maxBytes) {
+        return new CapturingInputStream(new ByteArrayInputStream(BODY), maxBytes, (copy, truncated) -> {
+            copies.add(copy);
+            truncations.add(truncated);
+        });
+    }
+}
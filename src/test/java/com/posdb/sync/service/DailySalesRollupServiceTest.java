@@ -0,0 +1,111 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.entity.Restaurant;
+import com.posdb.sync.repository.DailySalesRollupRepository;
+import com.posdb.sync.repository.dto.OrderBusinessDateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DailySalesRollupServiceTest {
+
+    private static final LocalDate D1 = LocalDate.of(2026, 5, 1);
+    private static final LocalDate D2 = LocalDate.of(2026, 5, 2);
+    private static final LocalDate D3 = LocalDate.of(2026, 5, 3);
+
+    // business date of each order id
+    private static final Map<Integer, LocalDate> ORDER_DATES = Map.of(1, D1, 2, D2, 3, D3);
+
+    private final List<SortedSet<LocalDate>> locked = new ArrayList<>();
+    private final List<Collection<LocalDate>> recomputed = new ArrayList<>();
+
+    private DailySalesRollupService dailySalesRollupService;
+    private Restaurant restaurant;
+
+    @BeforeEach
+    void setUp() {
+        dailySalesRollupService = new DailySalesRollupService();
+        dailySalesRollupService.deferredRefresh = new DeferredRollupRefresh();
+        dailySalesRollupService.dashboardCacheService = new DashboardCacheService() {
+            @Override
+            public void invalidate(UUID restaurantId, Collection<OffsetDateTime> orderTimes) {
+            }
+        };
+        dailySalesRollupService.dailySalesRollupRepository = new DailySalesRollupRepository() {
+            @Override
+            public List<OrderBusinessDateDto> findOrderDates(Restaurant restaurant, Collection<Integer> orderIds) {
+                return orderIds.stream()
+                        .map(orderId -> new OrderBusinessDateDto(ORDER_DATES.get(orderId).atStartOfDay().atOffset(ZoneOffset.UTC),
+                                ORDER_DATES.get(orderId)))
+                        .toList();
+            }
+
+            @Override
+            public void lockBusinessDates(UUID restaurantId, SortedSet<LocalDate> businessDates) {
+                locked.add(new TreeSet<>(businessDates));
+            }
+
+            @Override
+            public int recompute(Restaurant restaurant, Collection<LocalDate> businessDates) {
+                recomputed.add(List.copyOf(businessDates));
+                return businessDates.size();
+            }
+        };
+        restaurant = new Restaurant();
+        restaurant.setId(UUID.randomUUID());
+        restaurant.openingTime = LocalTime.of(9, 0);
+        restaurant.closingTime = LocalTime.of(23, 0);
+    }
+
+    @Test
+    void eachRefreshLocksItsOwnDates() {
+        dailySalesRollupService.refresh(restaurant, List.of(2), Function.identity());
+        dailySalesRollupService.refresh(restaurant, List.of(1, 3), Function.identity());
+
+        assertEquals(List.of(new TreeSet<>(List.of(D2)), new TreeSet<>(List.of(D1, D3))), locked);
+    }
+
+    @Test
+    void deferredRefreshesLockEveryDateOnceInOrder() {
+        dailySalesRollupService.deferRefreshes();
+        // headers touch D2, then payments D1 and D2, then void logs D3
+        dailySalesRollupService.refresh(restaurant, List.of(2), Function.identity());
+        dailySalesRollupService.refresh(restaurant, List.of(1, 2), Function.identity());
+        dailySalesRollupService.refresh(restaurant, List.of(3), Function.identity());
+        assertTrue(locked.isEmpty());
+
+        dailySalesRollupService.refreshDeferred(restaurant);
+
+        assertEquals(List.of(new TreeSet<>(List.of(D1, D2, D3))), locked);
+        assertEquals(1, recomputed.size());
+        assertEquals(List.of(D1, D2, D3), new ArrayList<>(recomputed.get(0)));
+
+        // later refreshes of the transaction are no longer deferred
+        dailySalesRollupService.refresh(restaurant, List.of(1), Function.identity());
+        assertEquals(2, locked.size());
+    }
+
+    @Test
+    void nothingDeferredRecomputesNothing() {
+        dailySalesRollupService.deferRefreshes();
+        dailySalesRollupService.refreshDeferred(restaurant);
+
+        assertTrue(locked.isEmpty());
+        assertTrue(recomputed.isEmpty());
+    }
+}
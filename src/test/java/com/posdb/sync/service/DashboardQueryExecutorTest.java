@@ -0,0 +1,112 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.exception.AppException;
+import com.posdb.sync.exception.TooManyRequestsException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DashboardQueryExecutorTest {
+
+    private DashboardQueryExecutor queryExecutor;
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    // set when a blocked query is interrupted by its cancellation
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        queryExecutor = new DashboardQueryExecutor() {
+            @Override
+            <T> Callable<T> readOnly(Supplier<T> query) {
+                return query::get;
+            }
+        };
+        queryExecutor.threadCount = 2;
+        queryExecutor.queueCapacity = 2;
+        queryExecutor.queryTimeout = Duration.ofSeconds(5);
+        queryExecutor.retryAfter = Duration.ofSeconds(3);
+        queryExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queryExecutor.executor.shutdownNow();
+    }
+
+    @Test
+    void aFailedQueryCancelsTheOthersOfItsView() throws Exception {
+        try (DashboardQueryExecutor.QueryGroup queries = queryExecutor.group()) {
+            DashboardQueryExecutor.Query<String> failing = queries.submit("failing", () -> {
+                throw new AppException("bad", Response.Status.BAD_REQUEST);
+            });
+            queries.submit("slow", this::blockUntilCancelled);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(AppException.class, failing::get);
+        }
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void aTimedOutQueryCancelsTheOthersOfItsView() throws Exception {
+        queryExecutor.queryTimeout = Duration.ofMillis(50);
+        DashboardQueryExecutor.QueryGroup queries = queryExecutor.group();
+        DashboardQueryExecutor.Query<String> first = queries.submit("first", () -> {
+            sleep(1000);
+            return "late";
+        });
+        queries.submit("second", this::blockUntilCancelled);
+
+        AppException e = assertThrows(AppException.class, first::get);
+        assertEquals(Response.Status.GATEWAY_TIMEOUT, e.getStatus());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsAViewThatDoesNotFitTheQueue() {
+        try (DashboardQueryExecutor.QueryGroup busy = queryExecutor.group()) {
+            for (int i = 0; i < 4; i++) {
+                busy.submit("busy-" + i, this::blockUntilCancelled);
+            }
+
+            DashboardQueryExecutor.QueryGroup queries = queryExecutor.group();
+            TooManyRequestsException e = assertThrows(TooManyRequestsException.class, () -> queries.submit("rejected", () -> "x"));
+            assertEquals(3, e.getRetryAfterSeconds());
+        }
+        // closing the busy view frees the threads and the queue
+        try (DashboardQueryExecutor.QueryGroup queries = queryExecutor.group()) {
+            assertEquals("ok", queries.submit("after", () -> "ok").get());
+        }
+    }
+
+    private String blockUntilCancelled() {
+        started.countDown();
+        try {
+            Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+            cancelled.countDown();
+        }
+        return null;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.OrderDetailDto;
+import com.posdb.sync.dto.response.OrderItemDetailDto;
+import com.posdb.sync.entity.enums.OrderTypeEnum;
+import com.posdb.sync.repository.dto.DailySalesRollupDto;
+import com.posdb.sync.repository.dto.DetailedOrderDto;
+import com.posdb.sync.repository.dto.DetailedPaymentDto;
+import com.posdb.sync.repository.dto.DetailedReportDataDto;
+import com.posdb.sync.repository.dto.DetailedTransactionDto;
+import com.posdb.sync.repository.dto.HourlyReportDataDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DashboardServiceTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2026, 3, 14, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    // order_headers, order_payments, on_account_charges, order_transactions and menu_items of one business day
+    private record Header(int orderId, OffsetDateTime orderDateTime, OrderTypeEnum orderType, Integer guests) {
+    }
+
+    private record Payment(int orderId, int id, String method, String amount, String employeeComp) {
+    }
+
+    private record Transaction(int orderId, int id, int menuItemId, String quantity, String price, String discount) {
+    }
+
+    private record MenuItem(int menuItemId, String text) {
+    }
+
+    private static final List<Header> HEADERS = List.of(
+            new Header(101, DAY.withHour(9).withMinute(15), OrderTypeEnum.DINING, 2),
+            // no payments or charges: counted, but not listed
+            new Header(102, DAY.withHour(9).withMinute(40), OrderTypeEnum.DINING, 1),
+            new Header(103, DAY.withHour(11).withMinute(5), null, null),
+            // charges only
+            new Header(104, DAY.withHour(11).withMinute(30), OrderTypeEnum.DINING, 4),
+            // no transactions: not part of the report
+            new Header(105, DAY.withHour(12).withMinute(0), OrderTypeEnum.DINING, 3),
+            new Header(106, DAY.withHour(13).withMinute(45), OrderTypeEnum.DINING, 6));
+
+    private static final List<Payment> PAYMENTS = List.of(
+            new Payment(101, 11, "CASH", "20.00", null),
+            new Payment(101, 12, "CARD", "30.00", "2.00"),
+            new Payment(101, 13, "CASH", "5.50", "0.00"),
+            new Payment(103, 31, "ONLINE_ORDER", "42.00", null),
+            new Payment(105, 51, "CASH", "9.00", null),
+            new Payment(106, 61, "CARD", "18.25", "1.25"),
+            new Payment(106, 62, "CARD", "7.00", null));
+
+    private static final List<Payment> CHARGES = List.of(
+            new Payment(101, 701, null, "15.00", "1.00"),
+            new Payment(101, 702, null, "10.00", null),
+            new Payment(104, 741, null, "12.00", null),
+            new Payment(104, 742, null, "8.00", "0.50"),
+            new Payment(105, 751, null, "3.00", null));
+
+    private static final List<Transaction> TRANSACTIONS = List.of(
+            new Transaction(101, 1001, 1, "2", "24.00", "1.00"),
+            new Transaction(101, 1002, 2, "1", "18.00", null),
+            new Transaction(101, 1003, 7, "1", "6.00", "0.50"),
+            new Transaction(102, 1021, 3, "1", "4.00", null),
+            new Transaction(103, 1031, 2, "3", "54.00", "3.00"),
+            new Transaction(103, 1032, 4, "1", "2.00", null),
+            new Transaction(104, 1041, 1, "1", "12.00", null),
+            new Transaction(106, 1061, 2, "1", "18.00", "2.00"),
+            new Transaction(106, 1062, 5, "2", "9.00", null));
+
+    // menu item 2 was synced twice, menu item 7 is missing
+    private static final List<MenuItem> MENU_ITEMS = List.of(
+            new MenuItem(1, "Burger"),
+            new MenuItem(2, "Grill Platter"),
+            new MenuItem(2, "Grill Platter"),
+            new MenuItem(3, "Tea"),
+            new MenuItem(4, "Water"),
+            new MenuItem(5, "Soup"));
+
+    private final DashboardService dashboardService = new DashboardService();
+
+    @Test
+    void mergeMatchesTheFormerSingleJoin() {
+        List<DetailedReportDataDto> joinRows = singleJoin();
+        Map<Integer, List<DetailedReportDataDto>> orderMap = joinRows.stream()
+                .collect(Collectors.groupingBy(DetailedReportDataDto::getOrderId));
+        List<OrderDetailDto> expected = dashboardService.extractOrderDetails(orderMap, "normal");
+
+        DashboardService.DetailedOrders merged = DashboardService.mergeDetailedOrders(orders(), payments(PAYMENTS), payments(CHARGES), transactions());
+
+        assertEquals(describe(expected), describe(merged.orderDetails()));
+        assertEquals(orderMap.size(), merged.firstRows().size());
+        assertEquals(describeHours(dashboardService.calculateHourlyBreakdown(joinRows)),
+                describeHours(dashboardService.calculateHourlyBreakdown(merged.firstRows())));
+    }
+
+    @Test
+    void mergeCoversEveryFixtureCase() {
+        DashboardService.DetailedOrders merged = DashboardService.mergeDetailedOrders(orders(), payments(PAYMENTS), payments(CHARGES), transactions());
+        Map<Integer, OrderDetailDto> byOrderId = merged.orderDetails().stream()
+                .collect(Collectors.toMap(OrderDetailDto::getOrderNumber, Function.identity()));
+
+        assertEquals(List.of(101, 103, 104, 106), byOrderId.keySet().stream().sorted().toList());
+        // 20 + (30 - 2) + 5.50 + (15 - 1) + 10
+        assertEquals(77.5, byOrderId.get(101).getTotalAmount());
+        assertEquals(3, byOrderId.get(101).getOrderItems().size());
+        assertEquals(" - ", byOrderId.get(101).getOrderItems().get(2).getOrderItemName());
+        assertEquals(OrderTypeEnum.ONLINE_ORDER.name(), byOrderId.get(103).getOrderType());
+        assertEquals(19.5, byOrderId.get(104).getTotalAmount());
+        assertEquals("", byOrderId.get(104).getPaymentMode());
+        assertEquals(2, byOrderId.get(106).getOrderItems().size());
+    }
+
+    @Test
+    void seekFindsTheRunOfAnOrder() {
+        List<Integer> orderIds = List.of(3, 3, 5, 8, 8, 8);
+
+        assertEquals(0, DashboardService.seek(orderIds, 0, Function.identity(), 1));
+        assertEquals(0, DashboardService.seek(orderIds, 0, Function.identity(), 3));
+        assertEquals(2, DashboardService.seek(orderIds, 0, Function.identity(), 4));
+        assertEquals(3, DashboardService.seek(orderIds, 2, Function.identity(), 6));
+        assertEquals(6, DashboardService.seek(orderIds, 3, Function.identity(), 9));
+        // never moves back
+        assertEquals(4, DashboardService.seek(orderIds, 4, Function.identity(), 3));
+        assertEquals(0, DashboardService.seek(List.<Integer>of(), 0, Function.identity(), 3));
+    }
+
+    @Test
+    void mergeByOrderTypeSumsTheRestaurantsOfEachType() {
+        List<DailySalesRollupDto> rollup = List.of(
+                rollup("TAKEAWAY", 3, "30.00", 1, "4.00"),
+                rollup("DINING", 5, "100.00", 0, "0.00"),
+                rollup(null, 1, "7.50", 0, "0.00"),
+                rollup("TAKEAWAY", 2, "12.25", 2, "6.00"),
+                rollup(null, 2, "2.50", 1, "1.00"));
+
+        List<DailySalesRollupDto> merged = DashboardService.mergeByOrderType(rollup);
+
+        assertEquals(Arrays.asList(null, "DINING", "TAKEAWAY"), merged.stream().map(DailySalesRollupDto::getOrderType).toList());
+        DailySalesRollupDto takeaway = merged.get(2);
+        assertEquals(5L, takeaway.getOrderCount());
+        assertEquals(10L, takeaway.getGuestCount());
+        assertEquals(new BigDecimal("42.25"), takeaway.getAmountDue());
+        assertEquals(new BigDecimal("42.25"), takeaway.getSubTotal());
+        assertEquals(new BigDecimal("4.225"), takeaway.getDiscountAmount());
+        assertEquals(3L, takeaway.getVoidOrderCount());
+        assertEquals(new BigDecimal("10.00"), takeaway.getVoidAmount());
+        assertEquals(5L, takeaway.getInhouseOrderCount());
+        assertEquals(new BigDecimal("42.25"), takeaway.getInhouseAmount());
+        assertEquals(3L, merged.get(0).getOrderCount());
+        assertEquals(new BigDecimal("10.00"), merged.get(0).getAmountDue());
+        // a type of a single restaurant is passed through
+        assertEquals(rollup.get(1), merged.get(1));
+    }
+
+    /**
+     * Rows of the former query: order headers inner joined to their transactions (ordered by orderId and
+     * orderTransactionId), left joined to menu items, payments and charges.
+     */
+    private static List<DetailedReportDataDto> singleJoin() {
+        List<DetailedReportDataDto> rows = new ArrayList<>();
+        for (Header header : HEADERS) {
+            for (Transaction transaction : TRANSACTIONS.stream().filter(t -> t.orderId() == header.orderId()).toList()) {
+                for (MenuItem menuItem : orOne(MENU_ITEMS.stream().filter(m -> m.menuItemId() == transaction.menuItemId()).toList())) {
+                    for (Payment payment : orOne(PAYMENTS.stream().filter(p -> p.orderId() == header.orderId()).toList())) {
+                        for (Payment charge : orOne(CHARGES.stream().filter(c -> c.orderId() == header.orderId()).toList())) {
+                            rows.add(new DetailedReportDataDto(header.orderId(), header.orderDateTime(), header.orderType(), header.guests(),
+                                    payment != null ? payment.id() : null,
+                                    charge != null ? charge.id() : null,
+                                    payment != null ? payment.method() : null,
+                                    payment != null ? decimal(payment.amount()) : BigDecimal.ZERO,
+                                    charge != null ? decimal(charge.amount()) : BigDecimal.ZERO,
+                                    payment != null ? decimal(payment.employeeComp()) : null,
+                                    charge != null ? decimal(charge.employeeComp()) : null,
+                                    transaction.id(), transaction.menuItemId(), decimal(transaction.quantity()),
+                                    decimal(transaction.price()), decimal(transaction.discount()),
+                                    menuItem != null ? menuItem.text() : null));
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    // the new queries: orders with transactions, and every child list ordered by orderId and its own id
+    private static List<DetailedOrderDto> orders() {
+        return HEADERS.stream()
+                .filter(h -> TRANSACTIONS.stream().anyMatch(t -> t.orderId() == h.orderId()))
+                .map(h -> new DetailedOrderDto(h.orderId(), h.orderDateTime(), h.orderType(), h.guests()))
+                .toList();
+    }
+
+    private static List<DetailedPaymentDto> payments(List<Payment> payments) {
+        return payments.stream()
+                .map(p -> new DetailedPaymentDto(p.orderId(), p.id(), p.method(), decimal(p.amount()), decimal(p.employeeComp())))
+                .toList();
+    }
+
+    private static List<DetailedTransactionDto> transactions() {
+        List<DetailedTransactionDto> rows = new ArrayList<>();
+        for (Transaction t : TRANSACTIONS) {
+            for (MenuItem menuItem : orOne(MENU_ITEMS.stream().filter(m -> m.menuItemId() == t.menuItemId()).toList())) {
+                rows.add(new DetailedTransactionDto(t.orderId(), t.id(), t.menuItemId(), decimal(t.quantity()), decimal(t.price()),
+                        decimal(t.discount()), menuItem != null ? menuItem.text() : null));
+            }
+        }
+        return rows;
+    }
+
+    private static DailySalesRollupDto rollup(String orderType, long orderCount, String amountDue, long voidOrderCount, String voidAmount) {
+        BigDecimal amount = new BigDecimal(amountDue);
+        return new DailySalesRollupDto(orderType, orderCount, orderCount * 2, amount, amount, amount.movePointLeft(1),
+                voidOrderCount, new BigDecimal(voidAmount), orderCount, amount);
+    }
+
+    private static <T> List<T> orOne(List<T> rows) {
+        return rows.isEmpty() ? Arrays.asList((T) null) : rows;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value != null ? new BigDecimal(value) : null;
+    }
+
+    // the former assembly ordered payment methods and items by hash map iteration, compared here as sorted sets
+    private static List<String> describe(List<OrderDetailDto> orderDetails) {
+        return orderDetails.stream()
+                .sorted(Comparator.comparing(OrderDetailDto::getOrderNumber))
+                .map(o -> String.join("|", String.valueOf(o.getOrderNumber()), String.valueOf(o.getOrderTime()),
+                        String.valueOf(o.getTotalAmount()), String.valueOf(new TreeSet<>(Arrays.asList(o.getPaymentMode().split(", ")))),
+                        String.valueOf(o.getGuests()), o.getOrderType(),
+                        String.valueOf(o.getOrderItems().stream().map(DashboardServiceTest::describe).sorted().toList())))
+                .toList();
+    }
+
+    private static String describe(OrderItemDetailDto item) {
+        return item.getOrderItemName() + " x" + item.getQuantity() + " @" + item.getPrice() + " -" + item.getDiscountGiven();
+    }
+
+    private static List<String> describeHours(List<HourlyReportDataDto> hours) {
+        return hours.stream()
+                .map(h -> h.getHour() + ": " + h.getOrderCount() + " orders, " + h.getTotalRevenue().stripTrailingZeros().toPlainString()
+                        + " revenue, " + h.getTotalDiscounts().stripTrailingZeros().toPlainString() + " discounts, " + h.getTotalGuests() + " guests")
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.sync.MenuItemData;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class MenuItemSyncServiceTest {
+
+    @Test
+    void ignoresTheIdAndPriceScale() {
+        MenuItemData other = item();
+        other.setMenuItemId(99);
+        other.setDefaultUnitPrice(new BigDecimal("10.500"));
+
+        assertEquals(MenuItemSyncService.contentHash(item()), MenuItemSyncService.contentHash(other));
+        assertEquals(64, MenuItemSyncService.contentHash(item()).length());
+    }
+
+    @Test
+    void changesWithEverySyncedField() {
+        String hash = MenuItemSyncService.contentHash(item());
+        List<Consumer<MenuItemData>> changes = List.of(
+                data -> data.setMenuItemText("Grill Platter XL"),
+                data -> data.setMenuCategoryId(4),
+                data -> data.setMenuGroupId(8),
+                data -> data.setDisplayIndex(2),
+                data -> data.setDefaultUnitPrice(new BigDecimal("10.51")),
+                data -> data.setMenuItemDescription("with fries"),
+                data -> data.setMenuItemNotification("spicy"),
+                data -> data.setMenuItemInActive(true),
+                data -> data.setMenuItemInStock(false),
+                data -> data.setMenuItemDiscountable(false),
+                data -> data.setMenuItemType("COMBO"));
+
+        for (Consumer<MenuItemData> change : changes) {
+            MenuItemData changed = item();
+            change.accept(changed);
+            assertNotEquals(hash, MenuItemSyncService.contentHash(changed), changed.toString());
+        }
+    }
+
+    @Test
+    void tellsNullFromEmptyAndKeepsFieldsApart() {
+        MenuItemData empty = item();
+        empty.setMenuItemDescription("");
+        MenuItemData none = item();
+        none.setMenuItemDescription(null);
+        assertNotEquals(MenuItemSyncService.contentHash(empty), MenuItemSyncService.contentHash(none));
+
+        // the same text moved from one field to the next
+        MenuItemData description = item();
+        description.setMenuItemDescription("ab");
+        description.setMenuItemNotification("");
+        MenuItemData notification = item();
+        notification.setMenuItemDescription("a");
+        notification.setMenuItemNotification("b");
+        assertNotEquals(MenuItemSyncService.contentHash(description), MenuItemSyncService.contentHash(notification));
+    }
+
+    private static MenuItemData item() {
+        return new MenuItemData(12, "Grill Platter", 3, 7, 1, new BigDecimal("10.5"), null, null,
+                false, true, true, "FOOD");
+    }
+}
@@ -0,0 +1,68 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.response.SyncError;
+import com.posdb.sync.exception.AppException;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncErrorCollectorTest {
+
+    @Test
+    void keepsAtMostMaxErrorsAndFlagsTheRest() {
+        SyncErrorCollector errors = new SyncErrorCollector(2);
+        errors.add(1, 10, new AppException("bad", Response.Status.BAD_REQUEST));
+        errors.add(2, 11, new AppException("bad", Response.Status.BAD_REQUEST));
+        assertFalse(errors.isTruncated());
+
+        errors.add(3, 12, new AppException("bad", Response.Status.BAD_REQUEST));
+
+        assertEquals(2, errors.getErrors().size());
+        assertEquals(2, errors.getErrors().get(1).getIndex());
+        assertTrue(errors.isTruncated());
+    }
+
+    @Test
+    void recordsIndexKeyCodeAndMessage() {
+        SyncErrorCollector errors = new SyncErrorCollector(10);
+        errors.add(4, 1234, new AppException("orderId is required", Response.Status.BAD_REQUEST));
+        errors.add(5, null, new AppException("Failed", Response.Status.INTERNAL_SERVER_ERROR));
+
+        SyncError invalid = errors.getErrors().get(0);
+        assertEquals(4, invalid.getIndex());
+        assertEquals("1234", invalid.getKey());
+        assertEquals(SyncErrorCollector.INVALID_RECORD, invalid.getCode());
+        assertEquals("orderId is required", invalid.getMessage());
+        assertNull(invalid.getDeadLetterId());
+
+        SyncError failed = errors.getErrors().get(1);
+        assertNull(failed.getKey());
+        assertEquals(SyncErrorCollector.WRITE_FAILED, failed.getCode());
+    }
+
+    @Test
+    void reportsTheRootCauseOfUnexpectedExceptions() {
+        Exception e = new IllegalStateException("flush failed",
+                new RuntimeException("could not execute statement", new SQLException("duplicate key value")));
+
+        assertEquals(SyncErrorCollector.WRITE_FAILED, SyncErrorCollector.code(e));
+        assertEquals("duplicate key value", SyncErrorCollector.message(e));
+    }
+
+    @Test
+    void keepsTheMessageOfAppExceptionsAndShortensLongOnes() {
+        AppException wrapped = new AppException("Invalid record", new RuntimeException("cause"), Response.Status.BAD_REQUEST);
+        assertEquals("Invalid record", SyncErrorCollector.message(wrapped));
+
+        String message = SyncErrorCollector.message(new RuntimeException("x".repeat(400)));
+        assertEquals(303, message.length());
+        assertTrue(message.endsWith("..."));
+        assertNull(SyncErrorCollector.message(new RuntimeException()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.posdb.sync.service;
+
+import com.posdb.sync.dto.sync.OrderPaymentData;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SyncWatermarkServiceTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 1, 5, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final Function<Object, Integer> KEY = data -> ((OrderPaymentData) data).getOrderPaymentId();
+    private static final Function<Object, OffsetDateTime> TIMESTAMP = data -> ((OrderPaymentData) data).getPaymentDateTime();
+
+    @Test
+    void withoutFailuresTheHighestCommittedValueIsUsed() {
+        List<OrderPaymentData> committed = List.of(payment(3, 1), payment(7, 4), payment(5, 2));
+
+        assertEquals(7, SyncWatermarkService.below(committed, List.of(), KEY));
+        assertEquals(T0.plusMinutes(4), SyncWatermarkService.below(committed, List.of(), TIMESTAMP));
+    }
+
+    @Test
+    void staysBelowTheLowestFailedRecord() {
+        List<OrderPaymentData> committed = List.of(payment(3, 1), payment(5, 5), payment(9, 2));
+        List<OrderPaymentData> failed = List.of(payment(8, 4), payment(6, 3));
+
+        assertEquals(5, SyncWatermarkService.below(committed, failed, KEY));
+        assertEquals(T0.plusMinutes(2), SyncWatermarkService.below(committed, failed, TIMESTAMP));
+    }
+
+    @Test
+    void nothingBelowTheFailedRecordsLeavesTheWatermark() {
+        List<OrderPaymentData> committed = List.of(payment(10, 10), payment(12, 12));
+        List<OrderPaymentData> failed = List.of(payment(4, 4));
+
+        assertNull(SyncWatermarkService.below(committed, failed, KEY));
+        assertNull(SyncWatermarkService.below(committed, failed, TIMESTAMP));
+    }
+
+    @Test
+    void failedRecordsWithoutKeyDoNotCap() {
+        List<OrderPaymentData> committed = List.of(payment(3, 3), payment(null, null));
+        List<OrderPaymentData> failed = List.of(payment(null, null));
+
+        assertEquals(3, SyncWatermarkService.below(committed, failed, KEY));
+        assertEquals(T0.plusMinutes(3), SyncWatermarkService.below(committed, failed, TIMESTAMP));
+    }
+
+    private static OrderPaymentData payment(Integer orderPaymentId, Integer minutes) {
+        OrderPaymentData data = new OrderPaymentData();
+        data.setOrderPaymentId(orderPaymentId);
+        data.setPaymentDateTime(minutes == null ? null : T0.plusMinutes(minutes));
+        return data;
+    }
+}